@@ -0,0 +1,60 @@
+package com.example.redistest.benchmark;
+
+import com.example.redistest.dto.GeoBatchResult;
+import com.example.redistest.model.Location;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geo 명령 벤치마크 (GEOADD 단건/일괄, GEODIST, GEORADIUS)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class GeoBenchmark {
+
+    private static final String KEY = "bench:geo:stores";
+    private static final int BATCH_SIZE = 1_000;
+
+    private List<Location> locations;
+
+    @Setup(Level.Trial)
+    public void setUp(RedisBenchmarkState state) {
+        state.service.deleteKey(KEY);
+        locations = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            // 서울 시청 주변 약 10km 범위에 격자 배치
+            double longitude = 126.93 + (i % 40) * 0.0025;
+            double latitude = 37.52 + (i / 40) * 0.0035;
+            locations.add(new Location("store-" + i, longitude, latitude));
+        }
+        state.service.addGeoLocations(KEY, locations, 500, true);
+    }
+
+    @Benchmark
+    public void add(RedisBenchmarkState state) {
+        state.service.addGeoLocation(KEY, 126.9780, 37.5665, "store-0");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public GeoBatchResult addBatchPipelined(RedisBenchmarkState state) {
+        return state.service.addGeoLocations(KEY, locations, 500, true);
+    }
+
+    @Benchmark
+    public Distance distance(RedisBenchmarkState state) {
+        return state.service.getDistance(KEY, "store-0", "store-999");
+    }
+
+    @Benchmark
+    public GeoResults<RedisGeoCommands.GeoLocation<Object>> radius(RedisBenchmarkState state) {
+        return state.service.getGeoRadius(KEY, 126.9780, 37.5665, 2);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.redistest.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hash 명령 벤치마크 (HSET, HGET, HMSET, HGETALL)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class HashBenchmark {
+
+    private static final String KEY = "bench:hash:user";
+
+    private Map<String, Object> fields;
+
+    @Setup(Level.Trial)
+    public void setUp(RedisBenchmarkState state) {
+        fields = new LinkedHashMap<>();
+        fields.put("name", "김철수");
+        fields.put("email", "kim@example.com");
+        fields.put("age", 30);
+        fields.put("city", "서울");
+        fields.put("score", 1234.5);
+        state.service.setHashAll(KEY, fields);
+    }
+
+    @Benchmark
+    public void setField(RedisBenchmarkState state) {
+        state.service.setHash(KEY, "city", "서울");
+    }
+
+    @Benchmark
+    public Object getField(RedisBenchmarkState state) {
+        return state.service.getHashField(KEY, "email");
+    }
+
+    @Benchmark
+    public void setAll(RedisBenchmarkState state) {
+        state.service.setHashAll(KEY, fields);
+    }
+
+    @Benchmark
+    public Map<Object, Object> getAll(RedisBenchmarkState state) {
+        return state.service.getHashAll(KEY);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.redistest.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HyperLogLog 명령 벤치마크 (PFADD, PFCOUNT)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class HyperLogLogBenchmark {
+
+    private static final String KEY = "bench:hll:visitors";
+
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp(RedisBenchmarkState state) {
+        state.service.deleteKey(KEY);
+        for (int i = 0; i < 10_000; i += 100) {
+            Object[] batch = new Object[100];
+            for (int j = 0; j < batch.length; j++) {
+                batch[j] = "user-" + (i + j);
+            }
+            state.service.addToHyperLogLog(KEY, batch);
+        }
+    }
+
+    @Benchmark
+    public Long add(RedisBenchmarkState state) {
+        return state.service.addToHyperLogLog(KEY, "user-" + (sequence++ % 100_000));
+    }
+
+    @Benchmark
+    public Long count(RedisBenchmarkState state) {
+        return state.service.getHyperLogLogSize(KEY);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.redistest.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List 명령 벤치마크 (RPUSH + LPOP, LRANGE, LLEN)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class ListBenchmark {
+
+    private static final String RANGE_KEY = "bench:list:range";
+    private static final String QUEUE_KEY = "bench:list:queue";
+
+    @Setup(Level.Trial)
+    public void setUp(RedisBenchmarkState state) {
+        state.service.deleteKey(RANGE_KEY);
+        for (int i = 0; i < 100; i++) {
+            state.service.pushToList(RANGE_KEY, "item-" + i);
+        }
+    }
+
+    /**
+     * 리스트 길이가 계속 늘지 않도록 넣은 만큼 꺼낸다
+     */
+    @Benchmark
+    public Object pushAndPop(RedisBenchmarkState state) {
+        state.service.pushToList(QUEUE_KEY, "item");
+        return state.service.popFromList(QUEUE_KEY);
+    }
+
+    @Benchmark
+    public List<Object> range10(RedisBenchmarkState state) {
+        return state.service.getList(RANGE_KEY, 0, 9);
+    }
+
+    @Benchmark
+    public List<Object> range100(RedisBenchmarkState state) {
+        return state.service.getList(RANGE_KEY, 0, 99);
+    }
+
+    @Benchmark
+    public Long size(RedisBenchmarkState state) {
+        return state.service.getListSize(RANGE_KEY);
+    }
+}
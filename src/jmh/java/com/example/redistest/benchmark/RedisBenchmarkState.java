@@ -0,0 +1,161 @@
+package com.example.redistest.benchmark;
+
+import com.example.redistest.config.NearCacheProperties;
+import com.example.redistest.config.RedisCodecProperties;
+import com.example.redistest.config.RedisConfig;
+import com.example.redistest.config.ShardedCounterProperties;
+import com.example.redistest.serializer.CompressionStats;
+import com.example.redistest.service.NearCacheService;
+import com.example.redistest.service.RedisDataStructureService;
+import com.example.redistest.service.RedisMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fppt.jedismock.RedisServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 공통 상태: Redis 연결과 RedisDataStructureService
+ *
+ * 기본은 JVM 내부의 jedis-mock 서버를 띄워 사용하고, -Dredis.host / -Dredis.port (기본 6379)를 준 경우에만 그 Redis에 접속한다.
+ * (jedis-mock은 네트워크 왕복과 직렬화 비용은 비슷하지만 명령 처리 속도는 실제 Redis와 다르다)
+ * 끝나면 jedis-mock은 FLUSHDB, 실제 Redis는 벤치마크가 만든 bench:* 키만 지운다.
+ *
+ * RedisTemplate은 애플리케이션과 같은 RedisConfig로 만들어 직렬화 설정이 그대로 반영된다.
+ * 니어 캐시(L1)는 꺼서 매 호출이 Redis 왕복을 하도록 한다.
+ */
+@State(Scope.Benchmark)
+public class RedisBenchmarkState {
+
+    /**
+     * 벤치마크가 만드는 키의 접두사 (실제 Redis에서는 이 키만 지운다)
+     */
+    public static final String KEY_PREFIX = "bench:";
+
+    private static final int UNLINK_BATCH = 1_000;
+
+    /**
+     * 값 직렬화 형식 (app.redis.codec.format)
+     */
+    @Param({"json", "compact"})
+    public String format;
+
+    public RedisDataStructureService service;
+    public RedisTemplate<String, Object> redisTemplate;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisServer embeddedServer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String host = System.getProperty("redis.host");
+        if (host != null) {
+            int port = Integer.getInteger("redis.port", 6379);
+            connectionFactory = connect(host, port);
+            if (connectionFactory == null) {
+                throw new IllegalStateException("Redis에 연결할 수 없습니다: " + host + ":" + port);
+            }
+        } else {
+            embeddedServer = RedisServer.newRedisServer();
+            embeddedServer.start();
+            connectionFactory = connect(embeddedServer.getHost(), embeddedServer.getBindPort());
+            if (connectionFactory == null) {
+                throw new IllegalStateException("내장 Redis(jedis-mock)에 연결할 수 없습니다.");
+            }
+            System.out.println("# Redis: jedis-mock " + embeddedServer.getHost() + ":" + embeddedServer.getBindPort());
+        }
+
+        RedisCodecProperties codecProperties = new RedisCodecProperties();
+        codecProperties.setFormat(RedisCodecProperties.Format.valueOf(format.toUpperCase()));
+        redisTemplate = new RedisConfig().redisTemplate(connectionFactory, codecProperties, new CompressionStats());
+
+        // 운영과 같은 조건이 되도록 지연 시간 측정 비용도 포함
+        RedisMetrics redisMetrics = new RedisMetrics(new SimpleMeterRegistry());
+
+        NearCacheProperties nearCacheProperties = new NearCacheProperties();
+        nearCacheProperties.setEnabled(false);
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        NearCacheService nearCacheService = new NearCacheService(stringRedisTemplate, new ObjectMapper(),
+                                                                 nearCacheProperties, redisMetrics);
+
+        service = new RedisDataStructureService(redisTemplate, nearCacheService, redisMetrics,
+                                                new ShardedCounterProperties());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (connectionFactory != null) {
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                if (embeddedServer != null) {
+                    connection.serverCommands().flushDb();
+                } else {
+                    deleteBenchmarkKeys(connection);
+                }
+            }
+            connectionFactory.destroy();
+        }
+        if (embeddedServer != null) {
+            embeddedServer.stop();
+        }
+    }
+
+    /**
+     * 공유 Redis의 다른 데이터는 건드리지 않도록 bench:* 키만 SCAN + UNLINK
+     */
+    private static void deleteBenchmarkKeys(RedisConnection connection) {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(UNLINK_BATCH).build();
+        List<byte[]> keys = new ArrayList<>(UNLINK_BATCH);
+        long deleted = 0;
+        try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() >= UNLINK_BATCH) {
+                    deleted += unlink(connection, keys);
+                }
+            }
+        }
+        deleted += unlink(connection, keys);
+        System.out.println("# Redis: 벤치마크 키 " + deleted + "개 삭제");
+    }
+
+    private static long unlink(RedisConnection connection, List<byte[]> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long unlinked = connection.keyCommands().unlink(keys.toArray(new byte[0][]));
+        keys.clear();
+        return unlinked != null ? unlinked : 0;
+    }
+
+    /**
+     * PING이 성공하면 연결된 팩토리를, 실패하면 null을 반환
+     */
+    private static LettuceConnectionFactory connect(String host, int port) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        factory.afterPropertiesSet();
+        factory.start();
+        try (RedisConnection connection = factory.getConnection()) {
+            connection.ping();
+            System.out.println("# Redis: " + host + ":" + port);
+            return factory;
+        } catch (RuntimeException e) {
+            factory.destroy();
+            return null;
+        }
+    }
+}
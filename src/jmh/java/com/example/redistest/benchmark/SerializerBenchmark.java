@@ -0,0 +1,99 @@
+package com.example.redistest.benchmark;
+
+import com.example.redistest.config.RedisCodecProperties;
+import com.example.redistest.config.RedisConfig;
+import com.example.redistest.entity.Product;
+import com.example.redistest.model.Location;
+import com.example.redistest.model.User;
+import com.example.redistest.serializer.CompressionStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 값 직렬화기 단독 벤치마크 (Redis 왕복 없음)
+ *
+ * RedisConfig가 만드는 것과 같은 직렬화기를 꺼내 쓰므로 설정 변경이 그대로 반영된다.
+ * 템플릿 생성에는 연결 팩토리 인스턴스만 필요하고 실제 연결은 맺지 않는다.
+ * 할당량 비교는 -prof gc 결과의 gc.alloc.rate.norm(B/op)을 본다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class SerializerBenchmark {
+
+    @Param({"json", "compact"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean compression;
+
+    @Param({"string", "user", "location", "product"})
+    public String payload;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        RedisCodecProperties codecProperties = new RedisCodecProperties();
+        codecProperties.setFormat(RedisCodecProperties.Format.valueOf(format.toUpperCase()));
+        codecProperties.getCompression().setEnabled(compression);
+
+        RedisConfig redisConfig = new RedisConfig();
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory();
+        CompressionStats compressionStats = new CompressionStats();
+
+        // format이 적용되는 직렬화기: 상품 캐시 값, 일반 템플릿의 Hash 값
+        if ("product".equals(payload)) {
+            ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+            serializer = (RedisSerializer<Object>) redisConfig.productRedisTemplate(connectionFactory, objectMapper,
+                    codecProperties, compressionStats).getValueSerializer();
+        } else {
+            serializer = (RedisSerializer<Object>) redisConfig.redisTemplate(connectionFactory, codecProperties,
+                    compressionStats).getHashValueSerializer();
+        }
+
+        value = switch (payload) {
+            case "string" -> "hello world";
+            case "user" -> new User("1", "김철수", "kim@example.com", 30);
+            case "location" -> new Location("서울", 126.978, 37.5665);
+            case "product" -> product();
+            default -> throw new IllegalArgumentException("알 수 없는 payload: " + payload);
+        };
+        bytes = serializer.serialize(value);
+        System.out.println("# " + payload + " (" + format + (compression ? "+lz4" : "") + "): "
+                + bytes.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    private static Product product() {
+        Product product = new Product();
+        product.setId(1L);
+        product.setName("노트북 Pro 15");
+        product.setDescription("고성능 프로세서와 16GB 메모리를 탑재한 15인치 노트북. 가볍고 배터리 사용 시간이 깁니다.");
+        product.setPrice(new BigDecimal("1890000.00"));
+        product.setStock(42);
+        product.setCategory("전자제품");
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        product.setUpdatedAt(LocalDateTime.of(2024, 3, 2, 18, 45, 12));
+        return product;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.redistest.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Set 명령 벤치마크 (SADD, SISMEMBER, SMEMBERS, SINTER, SUNION)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class SetBenchmark {
+
+    private static final String KEY_A = "bench:set:a";
+    private static final String KEY_B = "bench:set:b";
+
+    @Setup(Level.Trial)
+    public void setUp(RedisBenchmarkState state) {
+        state.service.deleteKey(KEY_A);
+        state.service.deleteKey(KEY_B);
+        for (int i = 0; i < 100; i++) {
+            state.service.addToSet(KEY_A, "member-" + i);
+            state.service.addToSet(KEY_B, "member-" + (i + 50));
+        }
+    }
+
+    @Benchmark
+    public void add(RedisBenchmarkState state) {
+        state.service.addToSet(KEY_A, "member-0");
+    }
+
+    @Benchmark
+    public Boolean isMember(RedisBenchmarkState state) {
+        return state.service.isMemberOfSet(KEY_A, "member-42");
+    }
+
+    @Benchmark
+    public Set<Object> members(RedisBenchmarkState state) {
+        return state.service.getSetMembers(KEY_A);
+    }
+
+    @Benchmark
+    public Set<Object> intersect(RedisBenchmarkState state) {
+        return state.service.setIntersect(KEY_A, KEY_B);
+    }
+
+    @Benchmark
+    public Set<Object> union(RedisBenchmarkState state) {
+        return state.service.setUnion(KEY_A, KEY_B);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.redistest.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorted Set 명령 벤치마크 (ZADD, ZRANGE, ZREVRANGE, ZRANK, ZSCORE)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class SortedSetBenchmark {
+
+    private static final String KEY = "bench:zset:leaderboard";
+
+    @Setup(Level.Trial)
+    public void setUp(RedisBenchmarkState state) {
+        state.service.deleteKey(KEY);
+        for (int i = 0; i < 1_000; i++) {
+            state.service.addToSortedSet(KEY, "player-" + i, i);
+        }
+    }
+
+    @Benchmark
+    public void add(RedisBenchmarkState state) {
+        state.service.addToSortedSet(KEY, "player-500", 500);
+    }
+
+    @Benchmark
+    public Set<Object> rangeTop10(RedisBenchmarkState state) {
+        return state.service.getSortedSetReverseRange(KEY, 0, 9);
+    }
+
+    @Benchmark
+    public Set<Object> range100(RedisBenchmarkState state) {
+        return state.service.getSortedSetRange(KEY, 0, 99);
+    }
+
+    @Benchmark
+    public Long rank(RedisBenchmarkState state) {
+        return state.service.getSortedSetRank(KEY, "player-500");
+    }
+
+    @Benchmark
+    public Double score(RedisBenchmarkState state) {
+        return state.service.getSortedSetScore(KEY, "player-500");
+    }
+}
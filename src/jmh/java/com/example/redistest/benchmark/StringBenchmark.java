@@ -0,0 +1,69 @@
+package com.example.redistest.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * String 명령 벤치마크 (GET, SET, SET EX, INCR, MGET, MSET)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class StringBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private List<String> batchKeys;
+    private Map<String, String> batchValues;
+
+    @Setup(Level.Trial)
+    public void setUp(RedisBenchmarkState state) {
+        state.service.setString("bench:string:get", "value-0123456789");
+
+        batchKeys = new ArrayList<>(BATCH_SIZE);
+        batchValues = new LinkedHashMap<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String key = "bench:string:batch:" + i;
+            batchKeys.add(key);
+            batchValues.put(key, "value-" + i);
+        }
+        state.service.multiSetString(batchValues);
+    }
+
+    @Benchmark
+    public void set(RedisBenchmarkState state) {
+        state.service.setString("bench:string:set", "value-0123456789");
+    }
+
+    @Benchmark
+    public String get(RedisBenchmarkState state) {
+        return state.service.getString("bench:string:get");
+    }
+
+    @Benchmark
+    public void setWithExpire(RedisBenchmarkState state) {
+        state.service.setStringWithExpire("bench:string:expire", "value-0123456789", 60, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Long increment(RedisBenchmarkState state) {
+        return state.service.increment("bench:string:counter");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<String> multiGet(RedisBenchmarkState state) {
+        return state.service.multiGetString(batchKeys);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void multiSet(RedisBenchmarkState state) {
+        state.service.multiSetString(batchValues);
+    }
+}
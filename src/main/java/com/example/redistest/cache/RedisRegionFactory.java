@@ -0,0 +1,137 @@
+package com.example.redistest.cache;
+
+import com.example.redistest.config.HibernateCacheProperties;
+import com.example.redistest.service.RedisMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Redis(Lettuce) 기반 Hibernate 2차 캐시 RegionFactory
+ *
+ * 엔티티 리전(@Cache), 쿼리 결과 리전(HINT_CACHEABLE), 테이블 변경 시각을 담는 타임스탬프 리전을 모두 Redis에 둔다.
+ * 모든 노드가 같은 Redis를 보므로 한 노드의 수정/무효화가 다른 노드의 2차 캐시에도 바로 반영된다.
+ * 쿼리 결과는 Hibernate가 캐시 시점과 테이블 변경 시각(타임스탬프 리전)을 비교해 오래된 결과를 버린다.
+ * 스프링 빈으로 만들어 HibernatePropertiesCustomizer로 인스턴스를 넘기므로 기존 Lettuce 연결을 그대로 쓴다.
+ */
+public class RedisRegionFactory extends RegionFactoryTemplate implements MeterBinder {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMetrics redisMetrics;
+    private final HibernateCacheProperties properties;
+
+    private final Map<String, RedisStorageAccess.Stats> stats = new ConcurrentHashMap<>();
+    private final Set<String> timestampsRegions = ConcurrentHashMap.newKeySet();
+    private volatile MeterRegistry meterRegistry;
+
+    public RedisRegionFactory(RedisTemplate<String, Object> redisTemplate, RedisMetrics redisMetrics,
+                              HibernateCacheProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.redisMetrics = redisMetrics;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        // Redis 연결은 스프링이 관리한다
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        // Redis 연결은 스프링이 관리한다
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return storageAccess(regionConfig.getRegionName(), properties.ttlFor(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return storageAccess(regionName, properties.ttlFor(regionName));
+    }
+
+    /**
+     * 타임스탬프는 만료되면 그 테이블의 이전 쿼리 결과가 다시 유효해 보이므로 만료시키지 않는다
+     */
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        timestampsRegions.add(regionName);
+        return storageAccess(regionName, null);
+    }
+
+    private RedisStorageAccess storageAccess(String regionName, Duration ttl) {
+        RedisStorageAccess.Stats regionStats = stats.computeIfAbsent(regionName, name -> {
+            RedisStorageAccess.Stats created = new RedisStorageAccess.Stats();
+            if (meterRegistry != null) {
+                bind(meterRegistry, name, created);
+            }
+            return created;
+        });
+        return new RedisStorageAccess(regionName, properties.getKeyPrefix(), ttl, redisTemplate, redisMetrics, regionStats);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        stats.forEach((region, regionStats) -> {
+            long hits = regionStats.hits.sum();
+            long misses = regionStats.misses.sum();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("hits", hits);
+            entry.put("misses", misses);
+            entry.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            entry.put("puts", regionStats.puts.sum());
+            entry.put("evictions", regionStats.evictions.sum());
+            entry.put("errors", regionStats.errors.sum());
+            entry.put("ttlSeconds", timestampsRegions.contains(region) ? null : properties.ttlFor(region).toSeconds());
+            regions.put(region, entry);
+        });
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", properties.isEnabled());
+        result.put("regions", regions);
+        return result;
+    }
+
+    /**
+     * 리전별 통계를 Micrometer 카운터로 노출 (hibernate.l2.requests, hibernate.l2.operations)
+     * 리전은 세션 팩토리가 만들어질 때 생기므로 이후에 생긴 리전도 등록한다.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        stats.forEach((region, regionStats) -> bind(registry, region, regionStats));
+    }
+
+    private static void bind(MeterRegistry registry, String region, RedisStorageAccess.Stats regionStats) {
+        counter(registry, "hibernate.l2.requests", region, "result", "hit", regionStats, s -> s.hits);
+        counter(registry, "hibernate.l2.requests", region, "result", "miss", regionStats, s -> s.misses);
+        counter(registry, "hibernate.l2.operations", region, "operation", "put", regionStats, s -> s.puts);
+        counter(registry, "hibernate.l2.operations", region, "operation", "evict", regionStats, s -> s.evictions);
+        counter(registry, "hibernate.l2.operations", region, "operation", "error", regionStats, s -> s.errors);
+    }
+
+    private static void counter(MeterRegistry registry, String name, String region, String tagKey, String tagValue,
+                                RedisStorageAccess.Stats regionStats, Function<RedisStorageAccess.Stats, LongAdder> adder) {
+        FunctionCounter.builder(name, adder.apply(regionStats), LongAdder::sum)
+                .tag("region", region)
+                .tag(tagKey, tagValue)
+                .register(registry);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.redistest.cache;
+
+import com.example.redistest.service.RedisMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hibernate 캐시 리전 1개의 Redis 저장소
+ *
+ * 키: l2:<리전>:<캐시 키>
+ * - 문자열/숫자 키(타임스탬프 리전의 테이블 이름 등)는 그대로 쓰고,
+ *   엔티티/쿼리 키처럼 객체인 키는 Java 직렬화 바이트의 SHA-256으로 바꿔 노드마다 같은 Redis 키가 되게 한다.
+ * 값은 Hibernate 캐시 항목(직렬화 가능)을 JDK 직렬화로 저장한다.
+ * Redis 오류는 캐시 미스로 처리해 조회가 DB로 넘어가게 한다.
+ */
+@Slf4j
+public class RedisStorageAccess implements DomainDataStorageAccess {
+
+    private static final int UNLINK_BATCH = 1_000;
+
+    private final String regionName;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMetrics redisMetrics;
+    private final Stats stats;
+
+    /**
+     * @param ttl null이면 만료 없음
+     */
+    public RedisStorageAccess(String regionName, String keyPrefix, Duration ttl,
+                              RedisTemplate<String, Object> redisTemplate, RedisMetrics redisMetrics, Stats stats) {
+        this.regionName = regionName;
+        this.keyPrefix = keyPrefix + regionName + ":";
+        this.ttl = ttl;
+        this.redisTemplate = redisTemplate;
+        this.redisMetrics = redisMetrics;
+        this.stats = stats;
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        String redisKey = redisKey(key);
+        try {
+            Object value = redisMetrics.record("GET", redisKey, () -> redisTemplate.opsForValue().get(redisKey));
+            (value != null ? stats.hits : stats.misses).increment();
+            return value;
+        } catch (DataAccessException | SerializationException e) {
+            stats.errors.increment();
+            log.warn("2차 캐시 조회 실패 - region: {}, error: {}", regionName, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        String redisKey = redisKey(key);
+        try {
+            if (ttl == null) {
+                redisMetrics.run("SET", redisKey, () -> redisTemplate.opsForValue().set(redisKey, value));
+            } else {
+                redisMetrics.run("SETEX", redisKey, () -> redisTemplate.opsForValue().set(redisKey, value, ttl));
+            }
+            stats.puts.increment();
+        } catch (DataAccessException | SerializationException e) {
+            stats.errors.increment();
+            log.warn("2차 캐시 저장 실패 - region: {}, error: {}", regionName, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        String redisKey = redisKey(key);
+        try {
+            return Boolean.TRUE.equals(redisMetrics.record("EXISTS", redisKey, () -> redisTemplate.hasKey(redisKey)));
+        } catch (DataAccessException e) {
+            stats.errors.increment();
+            return false;
+        }
+    }
+
+    @Override
+    public void evictData(Object key) {
+        String redisKey = redisKey(key);
+        try {
+            redisMetrics.record("DEL", redisKey, () -> redisTemplate.delete(redisKey));
+            stats.evictions.increment();
+        } catch (DataAccessException e) {
+            stats.errors.increment();
+            log.warn("2차 캐시 삭제 실패 - region: {}, error: {}", regionName, e.getMessage());
+        }
+    }
+
+    /**
+     * 리전 전체 삭제 (SCAN + UNLINK, 키가 많아도 Redis를 오래 막지 않는다)
+     */
+    @Override
+    public void evictData() {
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(UNLINK_BATCH).build();
+        List<String> keys = new ArrayList<>(UNLINK_BATCH);
+        long deleted = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() >= UNLINK_BATCH) {
+                    deleted += unlink(keys);
+                }
+            }
+            deleted += unlink(keys);
+            stats.evictions.add(deleted);
+            log.info("2차 캐시 리전 삭제 - region: {}, keys: {}", regionName, deleted);
+        } catch (DataAccessException e) {
+            stats.errors.increment();
+            log.warn("2차 캐시 리전 삭제 실패 - region: {}, error: {}", regionName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void release() {
+        // 연결은 Spring이 관리하므로 닫지 않는다
+    }
+
+    private long unlink(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<String> batch = List.copyOf(keys);
+        keys.clear();
+        Long unlinked = redisMetrics.record("UNLINK", keyPrefix, () -> redisTemplate.unlink(batch));
+        return unlinked != null ? unlinked : 0;
+    }
+
+    String redisKey(Object key) {
+        if (key instanceof String || key instanceof Number) {
+            return keyPrefix + key;
+        }
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(key);
+            out.flush();
+            return keyPrefix + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes.toByteArray()));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("2차 캐시 키를 직렬화할 수 없습니다: " + key, e);
+        }
+    }
+
+    /**
+     * 리전별 통계
+     */
+    public static class Stats {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder puts = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.redistest.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 동시 요청 수 제한 필터 (세마포어)
+ *
+ * 가상 스레드는 요청마다 새로 만들어지므로 요청 수에 상한이 없다.
+ * 허용량을 넘는 요청은 잠시 대기시키고, 그래도 자리가 나지 않으면 503으로 빠르게 거절한다.
+ * (Hikari 커넥션 대기열이나 Lettuce 명령 큐가 무한정 쌓이는 것을 방지)
+ *
+ * 비동기 처리(Reactive Mono/Flux, DeferredResult 등)는 서블릿 스레드가 먼저 돌아오므로
+ * AsyncListener로 응답이 끝날 때(완료/오류/타임아웃) 허용량을 돌려준다.
+ * 비동기 재디스패치는 OncePerRequestFilter가 건너뛰므로 요청 하나가 허용량을 두 번 잡지 않는다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "app.concurrency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final int maxConcurrentRequests;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties) {
+        this.maxConcurrentRequests = properties.getMaxConcurrentRequests();
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = properties.getAcquireTimeout().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            log.warn("동시 요청 제한 초과로 거절: {} {}", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            return;
+        }
+
+        admitted.increment();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnAsyncEnd());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * 비동기 응답이 끝나면 허용량 반환 (완료/오류/타임아웃 중 먼저 온 한 번만)
+     */
+    private class ReleaseOnAsyncEnd implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // startAsync를 다시 부르면 리스너가 지워지므로 새 AsyncContext에 다시 등록
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("http.concurrency.inflight", permits, p -> maxConcurrentRequests - p.availablePermits())
+                .register(registry);
+        Gauge.builder("http.concurrency.queued", permits, Semaphore::getQueueLength).register(registry);
+        FunctionCounter.builder("http.concurrency.requests", admitted, LongAdder::sum)
+                .tag("result", "admitted").register(registry);
+        FunctionCounter.builder("http.concurrency.requests", rejected, LongAdder::sum)
+                .tag("result", "rejected").register(registry);
+    }
+
+    /**
+     * 허용/거절 통계
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("maxConcurrentRequests", maxConcurrentRequests);
+        stats.put("inFlight", maxConcurrentRequests - permits.availablePermits());
+        stats.put("queued", permits.getQueueLength());
+        stats.put("admitted", admitted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("virtualThread", Thread.currentThread().isVirtual());
+        return stats;
+    }
+}
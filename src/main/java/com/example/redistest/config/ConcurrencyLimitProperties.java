@@ -0,0 +1,35 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 동시 요청 수 제한 설정
+ * application.yml의 app.concurrency.* 값과 바인딩
+ *
+ * 가상 스레드 모드에서는 Tomcat 스레드 수가 더 이상 상한 역할을 하지 않으므로,
+ * Hikari 커넥션 풀과 Lettuce 커넥션에 몰리는 요청 수를 여기서 제한한다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.concurrency")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * 동시 요청 수 제한 사용 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 동시에 처리할 수 있는 최대 요청 수
+     */
+    private int maxConcurrentRequests = 256;
+
+    /**
+     * 허용량이 찼을 때 대기할 최대 시간 (초과하면 503 응답)
+     */
+    private Duration acquireTimeout = Duration.ofMillis(200);
+}
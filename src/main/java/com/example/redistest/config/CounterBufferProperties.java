@@ -0,0 +1,37 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 카운터 쓰기 버퍼 설정
+ * application.yml의 app.counter.buffered.* 값과 바인딩
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.counter.buffered")
+public class CounterBufferProperties {
+
+    /**
+     * 버퍼 모드 사용 여부 (false면 요청마다 바로 INCRBY)
+     */
+    private boolean enabled = false;
+
+    /**
+     * 모아 둔 증가분을 Redis에 반영하는 주기 (다른 노드에서 보이기까지의 최대 지연)
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    /**
+     * 버퍼에 올릴 수 있는 최대 키 수 (초과한 새 키는 바로 INCRBY)
+     */
+    private int maxKeys = 10_000;
+
+    /**
+     * 파이프라인 1회에 보낼 최대 INCRBY 수
+     */
+    private int batchSize = 500;
+}
@@ -0,0 +1,47 @@
+package com.example.redistest.config;
+
+import com.example.redistest.cache.RedisRegionFactory;
+import com.example.redistest.service.RedisMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * 2차 캐시용 RegionFactory (기존 Lettuce 연결 사용)
+     * 캐시 항목은 Hibernate 내부 타입(CacheEntry, QueryKey 등)이므로 JDK 직렬화로 저장
+     */
+    @Bean
+    public RedisRegionFactory redisRegionFactory(RedisConnectionFactory connectionFactory, RedisMetrics redisMetrics,
+                                                 HibernateCacheProperties properties) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new JdkSerializationRedisSerializer(getClass().getClassLoader()));
+        template.afterPropertiesSet();
+        return new RedisRegionFactory(template, redisMetrics, properties);
+    }
+
+    /**
+     * 엔티티(@Cache) 캐시와 쿼리 캐시(HINT_CACHEABLE)를 켜고 RegionFactory 인스턴스를 Hibernate에 넘긴다
+     * 레포지토리 호출부는 바꾸지 않아도 findById/쿼리 조회가 2차 캐시를 거친다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(RedisRegionFactory redisRegionFactory,
+                                                                  HibernateCacheProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, properties.isEnabled());
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, properties.isEnabled());
+            if (properties.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, redisRegionFactory);
+            }
+        };
+    }
+}
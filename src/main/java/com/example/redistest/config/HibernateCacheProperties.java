@@ -0,0 +1,43 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate 2차 캐시(Redis) 설정
+ * application.yml의 app.l2-cache.* 값과 바인딩
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.l2-cache")
+public class HibernateCacheProperties {
+
+    /**
+     * 2차 캐시/쿼리 캐시 사용 여부 (false면 모든 JPA 조회가 DB로 간다)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 캐시 키 접두사 (예: l2:product:<키 해시>)
+     */
+    private String keyPrefix = "l2:";
+
+    /**
+     * 리전별 만료 시간을 지정하지 않았을 때의 만료 시간
+     */
+    private Duration defaultTtl = Duration.ofMinutes(10);
+
+    /**
+     * 리전별 만료 시간 (테이블 변경 시각을 담는 타임스탬프 리전은 만료시키지 않는다)
+     */
+    private Map<String, Duration> regionTtl = new LinkedHashMap<>();
+
+    public Duration ttlFor(String regionName) {
+        return regionTtl.getOrDefault(regionName, defaultTtl);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시간 구간별 HyperLogLog 설정
+ * application.yml의 app.hll.* 값과 바인딩
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.hll")
+public class HyperLogLogProperties {
+
+    /**
+     * 이벤트 수집 시 기록할 시간 구간 단위
+     */
+    private List<Granularity> granularities = new ArrayList<>(List.of(Granularity.HOUR, Granularity.DAY));
+
+    /**
+     * 구간 키 보관 기간 (설정하지 않으면 단위별 기본값)
+     */
+    private Map<Granularity, Duration> retention = new EnumMap<>(Granularity.class);
+
+    /**
+     * 윈도우 조회 시 지난 구간들을 PFMERGE 한 결과를 보관하는 시간
+     */
+    private Duration mergedCacheTtl = Duration.ofMinutes(1);
+
+    /**
+     * 윈도우 조회 1회에 합칠 수 있는 최대 구간 수
+     */
+    private int maxWindowBuckets = 1_000;
+
+    /**
+     * 로컬 스케치 사전 집계 설정
+     */
+    private LocalSketch localSketch = new LocalSketch();
+
+    public Duration retentionFor(Granularity granularity) {
+        return retention.getOrDefault(granularity, granularity.getDefaultRetention());
+    }
+
+    public enum Granularity {
+        MINUTE(ChronoUnit.MINUTES, "yyyyMMddHHmm", Duration.ofDays(1)),
+        HOUR(ChronoUnit.HOURS, "yyyyMMddHH", Duration.ofDays(31)),
+        DAY(ChronoUnit.DAYS, "yyyyMMdd", Duration.ofDays(400));
+
+        private final ChronoUnit unit;
+        private final DateTimeFormatter formatter;
+        private final Duration defaultRetention;
+
+        Granularity(ChronoUnit unit, String pattern, Duration defaultRetention) {
+            this.unit = unit;
+            this.formatter = DateTimeFormatter.ofPattern(pattern).withZone(ZoneOffset.UTC);
+            this.defaultRetention = defaultRetention;
+        }
+
+        public Duration getDefaultRetention() {
+            return defaultRetention;
+        }
+
+        /**
+         * 시각이 속한 구간의 표기 (UTC, 예: HOUR → 2024011315)
+         */
+        public String stamp(Instant time) {
+            return formatter.format(time.truncatedTo(unit));
+        }
+
+        /**
+         * 현재 구간을 포함한 최근 count개 구간 (오래된 순)
+         */
+        public List<String> lastStamps(Instant now, int count) {
+            Instant current = now.truncatedTo(unit);
+            List<String> stamps = new ArrayList<>(count);
+            for (int i = count - 1; i >= 0; i--) {
+                stamps.add(formatter.format(current.minus(i, unit)));
+            }
+            return stamps;
+        }
+    }
+
+    @Data
+    public static class LocalSketch {
+
+        /**
+         * true: 이벤트를 JVM 안의 HLL 스케치에 모아 flush-interval마다 PFMERGE
+         */
+        private boolean enabled = false;
+
+        /**
+         * 스케치를 Redis에 합치는 주기 (다른 노드에서 보이기까지의 최대 지연)
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * 동시에 유지할 최대 스케치 수 (스케치 1개당 약 16KB, 초과한 새 구간 키는 바로 PFADD)
+         */
+        private int maxKeys = 1_000;
+    }
+}
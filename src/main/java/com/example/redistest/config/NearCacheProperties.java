@@ -0,0 +1,37 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 로컬(L1) 니어 캐시 설정
+ * application.yml의 app.cache.near.* 값과 바인딩
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache.near")
+public class NearCacheProperties {
+
+    /**
+     * 니어 캐시 사용 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 리전(product, string 등)별 최대 항목 수
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * 저장 후 만료 시간 (무효화 메시지를 놓쳤을 때의 최대 지연)
+     */
+    private Duration expireAfterWrite = Duration.ofSeconds(5);
+
+    /**
+     * 노드 간 무효화 메시지를 주고받는 Pub/Sub 채널
+     */
+    private String channel = "cache:invalidate";
+}
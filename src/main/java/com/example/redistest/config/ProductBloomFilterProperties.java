@@ -0,0 +1,53 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 상품 id 블룸 필터(Redis 비트맵) 설정
+ * application.yml의 app.product-bloom.* 값과 바인딩
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.product-bloom")
+public class ProductBloomFilterProperties {
+
+    /**
+     * 사용 여부 (false면 없는 id도 DB에서 확인)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 비트맵 키 접두사 (실제 키: bloom:{product}:m<비트 수>:k<해시 수>)
+     * 크기 설정을 바꾸면 다른 키를 쓰므로 재구축 전까지는 필터 없이 동작한다.
+     */
+    private String keyPrefix = "bloom:{product}";
+
+    /**
+     * 예상 상품 수 (비트맵 크기 계산용, 넘어서면 오탐률이 올라간다)
+     */
+    private long expectedInsertions = 1_000_000;
+
+    /**
+     * 목표 오탐률 (없는 id를 있다고 판단할 확률)
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * 전체 재구축 주기 (삭제된 id 정리)
+     */
+    private String rebuildCron = "0 30 4 * * *";
+
+    /**
+     * 재구축 시 파이프라인 1회에 반영할 id 수
+     */
+    private int rebuildBatchSize = 1_000;
+
+    /**
+     * 재구축 리스 유지 시간 (노드 하나만 재구축)
+     */
+    private Duration rebuildLeaseTtl = Duration.ofMinutes(30);
+}
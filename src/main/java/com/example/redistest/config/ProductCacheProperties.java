@@ -0,0 +1,52 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 상품 캐시(Redis) 설정
+ * application.yml의 app.cache.product.* 값과 바인딩
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache.product")
+public class ProductCacheProperties {
+
+    /**
+     * 캐시 사용 여부 (false면 항상 DB 조회)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 캐시 키 접두사 (예: product:1)
+     */
+    private String keyPrefix = "product:";
+
+    /**
+     * 캐시 만료 시간
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * 만료 시간에 더해지는 랜덤 지터 (동시 만료 방지)
+     */
+    private Duration ttlJitter = Duration.ofSeconds(30);
+
+    /**
+     * 분산 요청 병합 사용 여부 (Redis 리스를 잡은 노드만 DB 조회)
+     */
+    private boolean leaseEnabled = false;
+
+    /**
+     * 리스 유지 시간 (DB 조회가 이보다 오래 걸리면 대기 중인 노드도 직접 조회)
+     */
+    private Duration leaseTtl = Duration.ofSeconds(3);
+
+    /**
+     * 리스를 놓친 노드의 캐시 폴링 간격
+     */
+    private Duration leasePollInterval = Duration.ofMillis(50);
+}
@@ -0,0 +1,21 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 내보내기 설정
+ * application.yml의 app.product-export.* 값과 바인딩
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.product-export")
+public class ProductExportProperties {
+
+    /**
+     * 동시에 진행할 수 있는 최대 내보내기 수
+     * 내보내기는 클라이언트가 다운로드를 마칠 때까지 DB 커넥션을 하나 잡고 있으므로 커넥션 풀보다 충분히 작게 둔다
+     */
+    private int maxConcurrent = 2;
+}
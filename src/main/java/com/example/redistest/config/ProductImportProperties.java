@@ -0,0 +1,30 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 일괄 가져오기 설정
+ * application.yml의 app.product-import.* 값과 바인딩
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.product-import")
+public class ProductImportProperties {
+
+    /**
+     * 트랜잭션(배치 INSERT) 1회에 쓸 행 수
+     */
+    private int batchSize = 1_000;
+
+    /**
+     * 요청에서 지정할 수 있는 최대 배치 크기
+     */
+    private int maxBatchSize = 10_000;
+
+    /**
+     * 결과에 담을 최대 오류 메시지 수 (나머지는 건너뛴 행 수로만 집계)
+     */
+    private int maxErrors = 100;
+}
@@ -0,0 +1,69 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 상품 검색 인덱스(Redis) 설정
+ * application.yml의 app.product-index.* 값과 바인딩
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.product-index")
+public class ProductIndexProperties {
+
+    /**
+     * 인덱스 사용 여부 (false면 검색을 DB에서 처리)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 인덱스 키 접두사 (예: pidx:{g3:s0}:gram:노트, pidx:{g3}:price)
+     */
+    private String keyPrefix = "pidx:v2:";
+
+    /**
+     * n-gram 키를 나누는 id 구간 크기 (id / shardSize가 샤드 번호, 샤드마다 Cluster 슬롯이 다르다)
+     * 작을수록 고르게 퍼지지만 결과가 드문 검색어는 샤드 수만큼 Redis를 호출한다.
+     * 이미 만든 세대의 키 위치가 달라지므로 바꿀 때는 keyPrefix도 바꿔 새로 재구축한다.
+     */
+    private long shardSize = 1_000_000;
+
+    /**
+     * 검색어별 후보 교집합(ZINTERSTORE) 결과 보관 시간
+     */
+    private Duration queryCacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * 전체 재구축 주기 (삭제/누락된 변경을 정리)
+     */
+    private String rebuildCron = "0 0 4 * * *";
+
+    /**
+     * 시작 시 인덱스가 없으면 재구축
+     */
+    private boolean rebuildOnStartup = true;
+
+    /**
+     * 재구축 시 파이프라인 1회에 반영할 상품 수
+     */
+    private int rebuildBatchSize = 500;
+
+    /**
+     * 다른 노드가 재구축한 세대 번호를 확인하는 주기
+     */
+    private Duration generationRefreshInterval = Duration.ofSeconds(5);
+
+    /**
+     * 새 세대로 전환한 뒤 이전 세대를 삭제하기까지 기다리는 시간 (다른 노드가 전환할 시간)
+     */
+    private Duration oldGenerationGrace = Duration.ofSeconds(30);
+
+    /**
+     * 재구축 리스 유지 시간 (노드 하나만 재구축)
+     */
+    private Duration rebuildLeaseTtl = Duration.ofMinutes(30);
+}
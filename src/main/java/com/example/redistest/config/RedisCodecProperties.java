@@ -0,0 +1,46 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 값 직렬화 설정
+ * application.yml의 app.redis.codec.* 값과 바인딩
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.redis.codec")
+public class RedisCodecProperties {
+
+    /**
+     * Hash 값과 상품 캐시 값의 쓰기 형식 (읽기는 항상 두 형식 모두 가능)
+     * - json: GenericJackson2JsonRedisSerializer (@class 헤더 포함)
+     * - compact: 알려진 타입은 바이너리, 그 외는 JSON
+     * 문자열 값과 Set/Sorted Set/Geo 멤버, HyperLogLog 원소는 바이트가 바뀌지 않도록 항상 JSON으로 쓴다.
+     */
+    private Format format = Format.JSON;
+
+    /**
+     * 임계값 이상 값의 LZ4 압축 설정
+     */
+    private Compression compression = new Compression();
+
+    public enum Format {
+        JSON, COMPACT
+    }
+
+    @Data
+    public static class Compression {
+
+        /**
+         * Hash 값과 상품 캐시 값의 압축 쓰기 여부 (읽기는 항상 압축 해제하므로 켜고 끄는 것 모두 롤링 배포 가능)
+         */
+        private boolean enabled = false;
+
+        /**
+         * 직렬화된 크기가 이 값(바이트) 이상일 때만 압축
+         */
+        private int threshold = 512;
+    }
+}
@@ -1,13 +1,28 @@
 package com.example.redistest.config;
 
+import com.example.redistest.entity.Product;
+import com.example.redistest.serializer.CompactRedisSerializer;
+import com.example.redistest.serializer.CompressingRedisSerializer;
+import com.example.redistest.serializer.CompressionStats;
+import com.example.redistest.serializer.KeyPrefixTrackingSerializer;
+import com.example.redistest.service.NearCacheService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -15,24 +30,114 @@ public class RedisConfig {
 
     /**
      * RedisTemplate 설정
-     * Key는 String, Value는 JSON으로 직렬화
+     * Key는 String, Hash 값은 app.redis.codec.format에 따라 JSON 또는 컴팩트 바이너리로 직렬화
+     * app.redis.codec.compression.enabled=true면 임계값 이상의 값을 LZ4로 압축
+     *
+     * 값 직렬화기는 문자열 값뿐 아니라 Set/Sorted Set/Geo 멤버와 HyperLogLog 원소도 인코딩한다.
+     * 형식을 바꾸면 같은 멤버의 바이트가 달라져 SISMEMBER/ZSCORE가 빗나가고 HLL이 이중 집계되므로
+     * 값 직렬화기는 항상 압축 없는 JSON으로 쓰고(읽기는 모든 형식) 컴팩트/압축 쓰기는 Hash 값에만 적용한다.
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       RedisCodecProperties codecProperties,
+                                                       CompressionStats compressionStats) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         
         // Key Serializer
-        template.setKeySerializer(new StringRedisSerializer());
+        template.setKeySerializer(new KeyPrefixTrackingSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
         
-        // Value Serializer (JSON)
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // Value Serializer (멤버 인코딩이 바뀌지 않도록 JSON으로 쓰기) / Hash Value Serializer (JSON 또는 컴팩트)
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
+        template.setValueSerializer(valueSerializer(codecProperties, compressionStats, jsonSerializer, false));
+        template.setHashValueSerializer(valueSerializer(codecProperties, compressionStats, jsonSerializer, true));
         
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * ReactiveRedisTemplate 설정 (논블로킹 API용)
+     * 블로킹 RedisTemplate과 같은 직렬화기를 사용해 두 API가 같은 데이터를 읽고 쓸 수 있게 한다.
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                                                       RedisTemplate<String, Object> redisTemplate) {
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext()
+                .key((RedisSerializer<String>) redisTemplate.getKeySerializer())
+                .value((RedisSerializer<Object>) redisTemplate.getValueSerializer())
+                .hashKey(redisTemplate.getHashKeySerializer())
+                .hashValue(redisTemplate.getHashValueSerializer())
+                .string(RedisSerializer.string())
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
+
+    /**
+     * 상품 캐시 전용 RedisTemplate
+     * 타입이 고정되어 있으므로 @class 헤더 없이 JSON으로 저장
+     * (Spring Boot ObjectMapper를 복사해 LocalDateTime 직렬화 지원)
+     */
+    @Bean
+    public RedisTemplate<String, Product> productRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                              ObjectMapper objectMapper,
+                                                              RedisCodecProperties codecProperties,
+                                                              CompressionStats compressionStats) {
+        RedisTemplate<String, Product> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+
+        template.setKeySerializer(new KeyPrefixTrackingSerializer());
+        template.setValueSerializer(valueSerializer(codecProperties, compressionStats,
+                new Jackson2JsonRedisSerializer<>(objectMapper.copy(), Product.class), true));
+
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * 값 압축 통계 (키 접두사별 압축률, 인코딩/디코딩 시간)
+     */
+    @Bean
+    public CompressionStats compressionStats() {
+        return new CompressionStats();
+    }
+
+    /**
+     * 값 직렬화기 선택
+     * 설정과 관계없이 항상 압축 해제 + 컴팩트/JSON을 모두 읽는 직렬화기를 쓰고, 쓰기 형식만 설정으로 고른다.
+     * 그래서 format이나 compression이 다른 노드가 섞여 있는 롤링 배포 중에도 서로 쓴 값을 읽을 수 있다.
+     * 압축은 가장 바깥에서 감싸므로 JSON/컴팩트 어느 형식과도 함께 쓸 수 있다.
+     * 키 직렬화기(KeyPrefixTrackingSerializer)가 기록한 키 접두사로 압축 통계를 집계한다.
+     *
+     * @param configurableWrites false면 설정과 관계없이 압축 없는 JSON으로 쓴다 (멤버/원소처럼 바이트가 바뀌면 안 되는 값)
+     */
+    private RedisSerializer<?> valueSerializer(RedisCodecProperties codecProperties, CompressionStats compressionStats,
+                                               RedisSerializer<?> jsonSerializer, boolean configurableWrites) {
+        RedisSerializer<Object> serializer = new CompactRedisSerializer(jsonSerializer,
+                configurableWrites && codecProperties.getFormat() == RedisCodecProperties.Format.COMPACT);
+
+        RedisCodecProperties.Compression compression = codecProperties.getCompression();
+        return new CompressingRedisSerializer<>(serializer, compression.getThreshold(), compressionStats,
+                configurableWrites && compression.isEnabled());
+    }
+    
+    /**
+     * 니어 캐시 무효화 메시지 구독
+     * 다른 노드에서 키가 변경되면 로컬(L1) 사본을 삭제
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cache.near", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       NearCacheService nearCacheService,
+                                                                       NearCacheProperties nearCacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(nearCacheService, new ChannelTopic(nearCacheProperties.getChannel()));
+        return container;
+    }
     
     /**
      * Redis Cluster 모드를 사용하는 경우 주석 해제
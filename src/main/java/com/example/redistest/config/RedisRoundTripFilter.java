@@ -0,0 +1,52 @@
+package com.example.redistest.config;
+
+import com.example.redistest.service.RedisMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * HTTP 요청 하나가 Redis와 몇 번 왕복했는지 기록
+ * redis.roundtrips.per.request (method, uri 태그)
+ *
+ * 요청 스레드에서 실행된 Redis 호출만 센다. (Reactive 엔드포인트는 제외)
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisRoundTripFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RedisMetrics.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int roundTrips = RedisMetrics.endRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("redis.roundtrips.per.request")
+                    .description("HTTP 요청당 Redis 왕복 횟수")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(roundTrips);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
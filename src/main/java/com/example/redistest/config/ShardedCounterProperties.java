@@ -0,0 +1,47 @@
+package com.example.redistest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 샤딩 카운터 설정
+ * application.yml의 app.counter.sharded.* 값과 바인딩
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.counter.sharded")
+public class ShardedCounterProperties {
+
+    /**
+     * 접두사 설정이 없는 키의 샤드 수
+     */
+    private int defaultShards = 16;
+
+    /**
+     * 키 접두사별 샤드 수 (가장 길게 일치하는 접두사 적용)
+     * 한 번 쓰기 시작한 키의 샤드 수를 줄이면 범위를 벗어난 서브키는 합계에서 빠진다.
+     */
+    private Map<String, Integer> shards = new LinkedHashMap<>();
+
+    /**
+     * 합계 조회 결과를 로컬에 보관하는 시간 (cached=true 조회에만 적용)
+     */
+    private Duration totalCacheTtl = Duration.ofSeconds(1);
+
+    public int shardsFor(String key) {
+        int count = defaultShards;
+        int matched = -1;
+        for (Map.Entry<String, Integer> entry : shards.entrySet()) {
+            if (key.startsWith(entry.getKey()) && entry.getKey().length() > matched) {
+                matched = entry.getKey().length();
+                count = entry.getValue();
+            }
+        }
+        return Math.max(count, 1);
+    }
+}
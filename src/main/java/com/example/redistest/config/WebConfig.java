@@ -1,5 +1,6 @@
 package com.example.redistest.config;
 
+import com.example.redistest.controller.ProductController;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -13,6 +14,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOriginPatterns("*")  // 모든 origin 허용
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(ProductController.NEXT_AFTER_ID_HEADER)  // 브라우저 JS에서 다음 페이지 커서를 읽도록 노출
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -1,13 +1,20 @@
 package com.example.redistest.controller;
 
 import com.example.redistest.service.RedisDataStructureService;
+import com.example.redistest.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -18,7 +25,10 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class CommonRedisController {
 
+    private static final int MAX_SCAN_COUNT = 10_000;
+
     private final RedisDataStructureService redisService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "키 존재 여부 확인", description = "특정 키가 Redis에 존재하는지 확인합니다.")
     @GetMapping("/{key}/exists")
@@ -79,5 +89,43 @@ public class CommonRedisController {
         
         return ResponseEntity.ok(response);
     }
-}
 
+    @Operation(summary = "키 패턴 검색 (SCAN 스트리밍)",
+               description = "SCAN으로 패턴에 맞는 키를 NDJSON으로 스트리밍합니다. "
+                       + "각 SCAN 결과 뒤에 {\"cursor\": ...} 줄을 쓰므로, 중단되면 마지막 커서로 이어서 조회할 수 있습니다. "
+                       + "마지막 줄은 {\"cursor\": \"0\", \"finished\": true, ...} 입니다.")
+    @GetMapping(value = "/scan", produces = "application/x-ndjson")
+    public void scanKeys(
+            @Parameter(description = "키 패턴 (glob)", example = "user:*") @RequestParam(defaultValue = "*") String match,
+            @Parameter(description = "SCAN 1회당 훑을 개수 힌트 (COUNT)", example = "1000") @RequestParam(defaultValue = "1000") int count,
+            @Parameter(description = "자료구조 타입 필터 (string, list, set, zset, hash, stream)") @RequestParam(required = false) String type,
+            @Parameter(description = "시작 커서 (이어서 조회할 때 마지막 cursor 값)", example = "0") @RequestParam(defaultValue = "0") String cursor,
+            @Parameter(description = "최대 키 개수 (0: 제한 없음, SCAN 1회 단위로 끊으므로 조금 넘을 수 있음)", example = "0") @RequestParam(defaultValue = "0") long limit,
+            HttpServletResponse response) throws IOException {
+        if (count <= 0 || count > MAX_SCAN_COUNT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "count는 1~" + MAX_SCAN_COUNT + " 사이여야 합니다.");
+        }
+        if (!NdjsonWriter.isValidCursor(cursor)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서: " + cursor);
+        }
+        DataType dataType = parseType(type);
+
+        response.setContentType(NdjsonWriter.MEDIA_TYPE.toString());
+        response.setCharacterEncoding("UTF-8");
+        // SCAN 1회 결과마다 전송해 서버/클라이언트 모두 일정한 메모리만 사용
+        new NdjsonWriter(objectMapper, response.getOutputStream()).writeScan(cursor, limit,
+                next -> redisService.scanKeys(next, match, count, dataType),
+                key -> Map.of("key", key));
+    }
+
+    private static DataType parseType(String type) {
+        if (type == null || type.isBlank()) {
+            return null;
+        }
+        try {
+            return DataType.fromCode(type.toLowerCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "알 수 없는 타입: " + type);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.redistest.controller;
 
+import com.example.redistest.dto.GeoBatchResult;
 import com.example.redistest.model.Location;
 import com.example.redistest.service.RedisDataStructureService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,16 +36,19 @@ public class GeoRedisController {
         return ResponseEntity.ok("위치 정보 저장 완료: " + location.getName());
     }
 
-    @Operation(summary = "여러 위치 한번에 저장", description = "여러 개의 위치를 한 번에 저장합니다.")
+    @Operation(summary = "여러 위치 한번에 저장", 
+               description = "여러 개의 위치를 청크 단위 GEOADD로 저장합니다. 청크별 소요 시간과 새로 추가된/이미 있던 멤버 수를 반환합니다.")
     @PostMapping("/{key}/batch")
-    public ResponseEntity<String> addGeoLocations(
+    public ResponseEntity<GeoBatchResult> addGeoLocations(
             @Parameter(description = "Geo 키", required = true) @PathVariable String key,
-            @Parameter(description = "위치 정보 목록", required = true) @RequestBody List<Location> locations) {
-        for (Location location : locations) {
-            redisService.addGeoLocation(key, location.getLongitude(), 
-                                       location.getLatitude(), location.getName());
+            @Parameter(description = "위치 정보 목록", required = true) @RequestBody List<Location> locations,
+            @Parameter(description = "GEOADD 1회당 멤버 수", example = "500") @RequestParam(defaultValue = "500") int chunkSize,
+            @Parameter(description = "청크를 파이프라인으로 전송", example = "true") @RequestParam(defaultValue = "true") boolean pipelined) {
+        if (chunkSize <= 0) {
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok("위치 정보 " + locations.size() + "개 저장 완료");
+        GeoBatchResult result = redisService.addGeoLocations(key, locations, chunkSize, pipelined);
+        return ResponseEntity.ok(result);
     }
 
     @Operation(summary = "두 지점 간 거리 계산", description = "두 위치 간의 거리를 계산합니다. (km 단위)")
@@ -2,14 +2,21 @@ package com.example.redistest.controller;
 
 import com.example.redistest.model.User;
 import com.example.redistest.service.RedisDataStructureService;
+import com.example.redistest.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -20,7 +27,10 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class HashRedisController {
 
+    private static final int MAX_PAGE_SIZE = 10_000;
+
     private final RedisDataStructureService redisService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Hash 필드 저장", description = "Hash의 특정 필드에 값을 저장합니다.")
     @PostMapping("/{key}/field")
@@ -97,5 +107,34 @@ public class HashRedisController {
         Boolean exists = redisService.hasHashKey(key, field);
         return ResponseEntity.ok(exists);
     }
-}
 
+    @Operation(summary = "Hash 스트리밍 조회 (HSCAN)",
+               description = "HSCAN으로 필드를 나눠 읽어 NDJSON으로 스트리밍합니다. HGETALL/HKEYS/HVALS와 달리 큰 Hash에서도 서버를 막지 않습니다. "
+                       + "페이지마다 {\"cursor\": ...} 줄이 붙으므로 중단되면 마지막 커서로 이어서 조회할 수 있습니다.")
+    @GetMapping(value = "/{key}/stream", produces = "application/x-ndjson")
+    public void streamHash(
+            @Parameter(description = "Hash 키", required = true) @PathVariable String key,
+            @Parameter(description = "필드 패턴 (glob)", example = "*") @RequestParam(defaultValue = "*") String match,
+            @Parameter(description = "HSCAN 1회당 항목 수 힌트 (COUNT)", example = "500") @RequestParam(defaultValue = "500") int pageSize,
+            @Parameter(description = "시작 커서", example = "0") @RequestParam(defaultValue = "0") String cursor,
+            @Parameter(description = "최대 필드 수 (0: 제한 없음)", example = "0") @RequestParam(defaultValue = "0") long limit,
+            HttpServletResponse response) throws IOException {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "pageSize는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        if (!NdjsonWriter.isValidCursor(cursor)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서: " + cursor);
+        }
+
+        response.setContentType(NdjsonWriter.MEDIA_TYPE.toString());
+        response.setCharacterEncoding("UTF-8");
+        new NdjsonWriter(objectMapper, response.getOutputStream()).writeScan(cursor, limit,
+                next -> redisService.scanHash(key, next, match, pageSize),
+                entry -> {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("field", entry.getKey());
+                    line.put("value", entry.getValue());
+                    return line;
+                });
+    }
+}
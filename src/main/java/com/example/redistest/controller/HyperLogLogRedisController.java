@@ -1,13 +1,19 @@
 package com.example.redistest.controller;
 
+import com.example.redistest.config.HyperLogLogProperties;
+import com.example.redistest.config.HyperLogLogProperties.Granularity;
+import com.example.redistest.service.HyperLogLogAggregator;
 import com.example.redistest.service.RedisDataStructureService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,18 +25,20 @@ import java.util.Map;
 public class HyperLogLogRedisController {
 
     private final RedisDataStructureService redisService;
+    private final HyperLogLogAggregator hyperLogLogAggregator;
+    private final HyperLogLogProperties hyperLogLogProperties;
 
     @Operation(summary = "HyperLogLog에 항목 추가", description = "고유 값 카운팅을 위해 항목을 추가합니다. (순 방문자 수, UV)")
     @PostMapping("/{key}")
     public ResponseEntity<Map<String, Object>> addToHyperLogLog(
             @Parameter(description = "HyperLogLog 키", required = true) @PathVariable String key,
             @Parameter(description = "추가할 항목들", required = true) @RequestBody List<String> values) {
-        Long addedCount = redisService.addToHyperLogLog(key, values.toArray());
-        Long totalCount = redisService.getHyperLogLogSize(key);
+        // PFADD와 PFCOUNT를 한 번의 왕복으로 실행
+        List<Long> result = redisService.addToHyperLogLogAndCount(key, values.toArray());
         
         Map<String, Object> response = new HashMap<>();
-        response.put("addedCount", addedCount);
-        response.put("totalUniqueCount", totalCount);
+        response.put("addedCount", result.get(0));
+        response.put("totalUniqueCount", result.get(1));
         
         return ResponseEntity.ok(response);
     }
@@ -46,5 +54,46 @@ public class HyperLogLogRedisController {
         
         return ResponseEntity.ok(response);
     }
-}
 
+    @Operation(summary = "시간 구간별 이벤트 기록",
+               description = "현재 시각이 속한 구간 키(hll:{key}:<단위>:<구간>)에 항목을 추가합니다. 단위는 app.hll.granularities 설정을 따릅니다. "
+                       + "로컬 스케치 모드(app.hll.local-sketch.enabled)에서는 JVM에 모았다가 주기적으로 PFMERGE 합니다.")
+    @PostMapping("/{key}/events")
+    public ResponseEntity<Map<String, Object>> recordEvents(
+            @Parameter(description = "HyperLogLog 키", required = true) @PathVariable String key,
+            @Parameter(description = "추가할 항목들 (예: 사용자 ID)", required = true) @RequestBody List<String> values) {
+        hyperLogLogAggregator.record(key, values);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("accepted", values.size());
+        response.put("granularities", hyperLogLogProperties.getGranularities());
+        response.put("mode", hyperLogLogProperties.getLocalSketch().isEnabled() ? "local-sketch" : "direct");
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "최근 구간 고유 개수 조회",
+               description = "현재 구간을 포함한 최근 last개 구간의 고유 개수를 추정합니다. (예: granularity=hour&last=24 → 최근 24시간) "
+                       + "지난 구간들의 PFMERGE 결과는 app.hll.merged-cache-ttl 동안 재사용합니다.")
+    @GetMapping("/{key}/window")
+    public ResponseEntity<Map<String, Object>> countWindow(
+            @Parameter(description = "HyperLogLog 키", required = true) @PathVariable String key,
+            @Parameter(description = "구간 단위 (minute, hour, day)", example = "hour") @RequestParam(defaultValue = "hour") String granularity,
+            @Parameter(description = "구간 수 (현재 구간 포함)", example = "24") @RequestParam(defaultValue = "24") int last) {
+        int maxBuckets = hyperLogLogProperties.getMaxWindowBuckets();
+        if (last <= 0 || last > maxBuckets) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "last는 1~" + maxBuckets + " 사이여야 합니다.");
+        }
+        Map<String, Object> response = redisService.countHyperLogLogWindow(key, parseGranularity(granularity), last,
+                Instant.now(), hyperLogLogProperties.getMergedCacheTtl());
+        return ResponseEntity.ok(response);
+    }
+
+    private static Granularity parseGranularity(String granularity) {
+        try {
+            return Granularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "알 수 없는 구간 단위: " + granularity);
+        }
+    }
+}
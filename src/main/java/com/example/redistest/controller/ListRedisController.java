@@ -1,14 +1,21 @@
 package com.example.redistest.controller;
 
+import com.example.redistest.dto.ListPage;
 import com.example.redistest.service.RedisDataStructureService;
+import com.example.redistest.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -18,7 +25,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ListRedisController {
 
+    private static final int MAX_PAGE_SIZE = 1_000;
+    private static final int MAX_WINDOW_SIZE = 10_000;
+
     private final RedisDataStructureService redisService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "List에 항목 추가", description = "순서가 있는 List에 여러 항목을 추가합니다. (메시지 큐, 작업 대기열)")
     @PostMapping("/{key}")
@@ -29,18 +40,62 @@ public class ListRedisController {
         return ResponseEntity.ok("List에 " + values.size() + "개 항목 추가 완료");
     }
 
-    @Operation(summary = "List 조회", description = "List의 모든 항목을 조회합니다.")
+    @Operation(summary = "List 조회 (페이지)",
+               description = "List를 페이지 단위로 조회합니다. 전체 크기(size)는 항목과 같은 시점에 읽은 값입니다. "
+                       + "nextCursor를 cursor로 넘기면 다음 페이지를 조회하며, null이면 마지막 페이지입니다.")
     @GetMapping("/{key}")
-    public ResponseEntity<Map<String, Object>> getList(
-            @Parameter(description = "List 키", required = true) @PathVariable String key) {
-        List<Object> list = redisService.getList(key, 0, -1);
-        Long size = redisService.getListSize(key);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("size", size);
-        response.put("items", list);
-        
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ListPage> getList(
+            @Parameter(description = "List 키", required = true) @PathVariable String key,
+            @Parameter(description = "시작 위치 (이전 응답의 nextCursor)", example = "0") @RequestParam(defaultValue = "0") long cursor,
+            @Parameter(description = "페이지 크기 (최대 1000)", example = "100") @RequestParam(defaultValue = "100") int size) {
+        if (cursor < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(redisService.getListPage(key, cursor, size));
+    }
+
+    @Operation(summary = "List 전체 조회 (스트리밍)",
+               description = "List 전체를 고정 크기 LRANGE 구간으로 나눠 NDJSON으로 스트리밍합니다. "
+                       + "첫 줄은 {\"size\": 전체 크기}이며, 첫 구간과 같은 시점에 읽은 크기까지만 전송합니다.")
+    @GetMapping(value = "/{key}/stream", produces = "application/x-ndjson")
+    public void streamList(
+            @Parameter(description = "List 키", required = true) @PathVariable String key,
+            @Parameter(description = "LRANGE 1회당 항목 수", example = "500") @RequestParam(defaultValue = "500") int window,
+            HttpServletResponse response) throws IOException {
+        if (window <= 0 || window > MAX_WINDOW_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "window는 1~" + MAX_WINDOW_SIZE + " 사이여야 합니다.");
+        }
+
+        response.setContentType(NdjsonWriter.MEDIA_TYPE.toString());
+        response.setCharacterEncoding("UTF-8");
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, response.getOutputStream());
+
+        ListPage first = redisService.getListPage(key, 0, window);
+        long size = first.getSize();
+        writer.write(Map.of("size", size));
+
+        long index = 0;
+        List<Object> items = first.getItems();
+        while (true) {
+            for (Object item : items) {
+                if (index >= size) {
+                    break;
+                }
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("index", index++);
+                line.put("value", item);
+                writer.write(line);
+            }
+            // 구간마다 전송해 한 번에 window 개수만큼만 메모리에 둔다
+            writer.flush();
+            if (index >= size || items.size() < window) {
+                break;
+            }
+            items = redisService.getList(key, index, Math.min(index + window, size) - 1);
+        }
+
+        writer.write(Map.of("count", index, "finished", true));
+        writer.flush();
     }
 
     @Operation(summary = "List 범위 조회", description = "List의 특정 범위 항목을 조회합니다.")
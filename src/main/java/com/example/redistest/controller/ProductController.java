@@ -1,30 +1,112 @@
 package com.example.redistest.controller;
 
+import com.example.redistest.config.ProductExportProperties;
+import com.example.redistest.dto.ProductImportRequest;
+import com.example.redistest.dto.ProductImportResult;
 import com.example.redistest.dto.ProductRequest;
 import com.example.redistest.entity.Product;
+import com.example.redistest.service.ProductImportService;
+import com.example.redistest.service.ProductIndexService;
 import com.example.redistest.service.ProductService;
+import com.example.redistest.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/products")
-@RequiredArgsConstructor
 @Tag(name = "Product", description = "상품 관리 API")
 public class ProductController {
     
+    public static final String NEXT_AFTER_ID_HEADER = "X-Next-After-Id";
+    
+    private static final int MAX_PAGE_SIZE = 1_000;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_BULK_IDS = 200;
+    private static final int EXPORT_FLUSH_ROWS = 1_000;
+    private static final String CSV_HEADER = "id,name,description,price,stock,category,createdAt,updatedAt";
+    
     private final ProductService productService;
+    private final ProductIndexService productIndexService;
+    private final ProductImportService productImportService;
+    private final ObjectMapper objectMapper;
+    // 진행 중인 내보내기 수 제한 (내보내기마다 다운로드가 끝날 때까지 DB 커넥션 1개를 잡는다)
+    private final Semaphore exportPermits;
+    
+    public ProductController(ProductService productService,
+                             ProductIndexService productIndexService,
+                             ProductImportService productImportService,
+                             ObjectMapper objectMapper,
+                             ProductExportProperties productExportProperties) {
+        this.productService = productService;
+        this.productIndexService = productIndexService;
+        this.productImportService = productImportService;
+        this.objectMapper = objectMapper;
+        this.exportPermits = new Semaphore(productExportProperties.getMaxConcurrent());
+    }
     
     @GetMapping
-    @Operation(summary = "전체 상품 조회", description = "모든 상품 목록을 조회합니다")
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    @Operation(summary = "상품 목록 조회 (페이지)",
+               description = "id 순으로 afterId 다음 상품을 size개 조회합니다. 다음 페이지는 응답 헤더 X-Next-After-Id 값을 afterId로 넘기며, 헤더가 없으면 마지막 페이지입니다")
+    public ResponseEntity<List<Product>> getProducts(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+        if (afterId < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        List<Product> products = productService.getProducts(afterId, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (products.size() == size) {
+            response.header(NEXT_AFTER_ID_HEADER, String.valueOf(products.get(products.size() - 1).getId()));
+        }
+        return response.body(products);
+    }
+    
+    @GetMapping(value = "/export", produces = {"application/x-ndjson", "text/csv"})
+    @Operation(summary = "전체 상품 내보내기 (스트리밍)",
+               description = "전체 상품을 id 순으로 NDJSON 또는 CSV로 스트리밍합니다. DB에서 한 행씩 읽으며 바로 전송하므로 테이블 크기와 관계없이 메모리 사용량이 일정합니다. "
+                           + "다운로드가 끝날 때까지 DB 커넥션을 하나 잡으므로 동시 내보내기 수는 app.product-export.max-concurrent로 제한되며, 초과하면 503을 반환합니다")
+    public void exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format은 ndjson 또는 csv여야 합니다.");
+        }
+        if (!exportPermits.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "10");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "진행 중인 내보내기가 많습니다. 잠시 후 다시 시도하세요.");
+        }
+        try {
+            writeExport(csv, response);
+        } finally {
+            exportPermits.release();
+        }
     }
     
     @GetMapping("/{id}")
@@ -33,6 +115,47 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductById(id));
     }
     
+    @PostMapping("/bulk")
+    @Operation(summary = "상품 다중 조회",
+               description = "여러 id의 상품을 한 번에 조회합니다. 캐시를 MGET 1회로 확인하고 없는 id만 DB에서 읽습니다. 결과는 요청한 id 순서대로 반환되며, 없는 상품은 found=false입니다")
+    public ResponseEntity<List<Map<String, Object>>> getProductsByIds(
+            @Parameter(description = "조회할 상품 id 목록", required = true) @RequestBody List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_BULK_IDS || ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids는 1~" + MAX_BULK_IDS + "개의 id여야 합니다.");
+        }
+        Map<Long, Product> products = productService.getProductsByIds(ids);
+        
+        List<Map<String, Object>> response = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = products.get(id);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", id);
+            item.put("found", product != null);
+            item.put("product", product);
+            response.add(item);
+        }
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping(value = "/import", consumes = {"application/json", "application/x-ndjson"})
+    @Operation(summary = "상품 일괄 가져오기 (생성/덮어쓰기)",
+               description = "JSON 배열 또는 NDJSON 본문을 스트리밍으로 읽어 batchSize개씩 JDBC 배치로 저장합니다. id가 있는 행은 덮어쓰고, 없는 행은 새로 생성합니다. 캐시/검색 인덱스/블룸 필터도 배치마다 함께 반영합니다")
+    public ResponseEntity<ProductImportResult> importProducts(
+            @Parameter(description = "트랜잭션 1회에 저장할 행 수 (기본: app.product-import.batch-size)") @RequestParam(required = false) Integer batchSize,
+            HttpServletRequest request) throws IOException {
+        int resolvedBatchSize;
+        try {
+            resolvedBatchSize = productImportService.resolveBatchSize(batchSize);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        // JSON 배열이면 배열 요소를, NDJSON이면 줄마다 한 행씩 읽는다
+        try (MappingIterator<ProductImportRequest> rows = objectMapper.readerFor(ProductImportRequest.class)
+                .readValues(request.getInputStream())) {
+            return ResponseEntity.ok(productImportService.importProducts(rows, resolvedBatchSize));
+        }
+    }
+    
     @PostMapping
     @Operation(summary = "상품 생성", description = "새로운 상품을 생성합니다")
     public ResponseEntity<Product> createProduct(@RequestBody ProductRequest request) {
@@ -54,23 +177,120 @@ public class ProductController {
     }
     
     @GetMapping("/search")
-    @Operation(summary = "상품 이름 검색", description = "상품 이름으로 검색합니다")
-    public ResponseEntity<List<Product>> searchByName(@RequestParam String name) {
-        return ResponseEntity.ok(productService.searchByName(name));
+    @Operation(summary = "상품 이름 검색",
+               description = "상품 이름에 검색어가 포함된 상품을 id 순으로 조회합니다. Redis n-gram 인덱스로 후보를 고르며, 1글자 검색어는 DB에서 찾습니다. 다음 페이지는 마지막 상품 id를 afterId로 넘깁니다")
+    public ResponseEntity<List<Product>> searchByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit <= 0 || limit > MAX_SEARCH_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit은 1~" + MAX_SEARCH_LIMIT + " 사이여야 합니다.");
+        }
+        return ResponseEntity.ok(productService.searchByName(name, afterId, limit));
+    }
+    
+    @PostMapping("/search-index/rebuild")
+    @Operation(summary = "검색 인덱스 재구축", description = "전체 상품으로 Redis 검색 인덱스를 백그라운드에서 다시 만듭니다. 완료되면 새 인덱스로 전환됩니다")
+    public ResponseEntity<Map<String, Object>> rebuildSearchIndex() {
+        boolean started = productIndexService.requestRebuild();
+        return ResponseEntity.accepted().body(Map.of("started", started, "index", productIndexService.getStats()));
     }
     
     @GetMapping("/category/{category}")
-    @Operation(summary = "카테고리별 조회", description = "카테고리로 상품을 조회합니다")
-    public ResponseEntity<List<Product>> getByCategory(@PathVariable String category) {
-        return ResponseEntity.ok(productService.searchByCategory(category));
+    @Operation(summary = "카테고리별 조회",
+               description = "카테고리로 상품을 id 순으로 조회합니다. Redis 카테고리 인덱스를 사용합니다. 다음 페이지는 마지막 상품 id를 afterId로 넘깁니다. "
+                           + "인덱스에서 limit개를 고른 뒤 삭제되었거나 카테고리가 바뀐 상품을 빼므로 마지막 페이지가 아니어도 limit보다 적게 반환될 수 있습니다")
+    public ResponseEntity<List<Product>> getByCategory(
+            @PathVariable String category,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit <= 0 || limit > MAX_SEARCH_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit은 1~" + MAX_SEARCH_LIMIT + " 사이여야 합니다.");
+        }
+        return ResponseEntity.ok(productService.searchByCategory(category, afterId, limit));
     }
     
     @GetMapping("/price-range")
-    @Operation(summary = "가격 범위 검색", description = "최소~최대 가격 범위로 상품을 검색합니다")
+    @Operation(summary = "가격 범위 검색",
+               description = "최소~최대 가격 범위의 상품을 가격 순(같은 가격은 id 순)으로 조회합니다. Redis 가격 인덱스를 사용하며, category를 주면 카테고리 인덱스와 교집합합니다. "
+                           + "인덱스에서 size개를 고른 뒤 삭제되었거나 가격/카테고리가 바뀐 상품을 빼므로 마지막 페이지가 아니어도 size보다 적게 반환될 수 있습니다")
     public ResponseEntity<List<Product>> searchByPriceRange(
             @RequestParam BigDecimal minPrice,
-            @RequestParam BigDecimal maxPrice) {
-        return ResponseEntity.ok(productService.searchByPriceRange(minPrice, maxPrice));
+            @RequestParam BigDecimal maxPrice,
+            @Parameter(description = "카테고리 (선택)") @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (minPrice.compareTo(maxPrice) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "minPrice는 maxPrice보다 클 수 없습니다.");
+        }
+        if (page < 0 || size <= 0 || size > MAX_SEARCH_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page는 0 이상, size는 1~" + MAX_SEARCH_LIMIT + " 사이여야 합니다.");
+        }
+        return ResponseEntity.ok(productService.searchByPriceRange(minPrice, maxPrice, category, page, size));
+    }
+    
+    // 행마다 쓰고 EXPORT_FLUSH_ROWS개마다 전송
+    private void writeExport(boolean csv, HttpServletResponse response) throws IOException {
+        response.setCharacterEncoding("UTF-8");
+        if (csv) {
+            response.setContentType("text/csv");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.csv\"");
+            Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            export(writer, product -> {
+                writer.write(toCsvLine(product));
+                writer.write('\n');
+            });
+        } else {
+            response.setContentType(NdjsonWriter.MEDIA_TYPE.toString());
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, response.getOutputStream());
+            long count = export(writer, writer::write);
+            writer.write(Map.of("count", count, "finished", true));
+            writer.flush();
+        }
+    }
+    
+    private long export(Flushable out, RowWriter rowWriter) throws IOException {
+        long[] written = {0};
+        try {
+            productService.exportProducts(product -> {
+                try {
+                    rowWriter.write(product);
+                    if (++written[0] % EXPORT_FLUSH_ROWS == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        return written[0];
+    }
+    
+    private static String toCsvLine(Product product) {
+        return Stream.of(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                        product.getStock(), product.getCategory(), product.getCreatedAt(), product.getUpdatedAt())
+                .map(ProductController::csvField)
+                .collect(Collectors.joining(","));
+    }
+    
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+    
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Product product) throws IOException;
     }
 }
-
@@ -0,0 +1,401 @@
+package com.example.redistest.controller;
+
+import com.example.redistest.model.Location;
+import com.example.redistest.service.ReactiveRedisDataStructureService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 논블로킹 자료구조 API
+ * Mono/Flux를 반환하므로 Redis 응답을 기다리는 동안 Tomcat 요청 스레드가 반환된다. (Servlet 비동기 처리)
+ */
+@Tag(name = "10. Reactive", description = "ReactiveRedisTemplate 기반 논블로킹 자료구조 API")
+@RestController
+@RequestMapping("/api/reactive/redis")
+@RequiredArgsConstructor
+public class ReactiveRedisController {
+
+    private final ReactiveRedisDataStructureService reactiveRedisService;
+
+    // ==================== String ====================
+
+    @Operation(summary = "String 저장", description = "Key-Value 형태로 데이터를 저장합니다.")
+    @PostMapping("/string")
+    public Mono<String> setString(
+            @Parameter(description = "저장할 키", required = true) @RequestParam String key,
+            @Parameter(description = "저장할 값", required = true) @RequestParam String value) {
+        return reactiveRedisService.setString(key, value)
+                .thenReturn("String 저장 완료: " + key);
+    }
+
+    @Operation(summary = "String 조회", description = "키에 해당하는 값을 조회합니다.")
+    @GetMapping("/string/{key}")
+    public Mono<String> getString(
+            @Parameter(description = "조회할 키", required = true) @PathVariable String key) {
+        return reactiveRedisService.getString(key)
+                .map(value -> "값: " + value)
+                .defaultIfEmpty("값: null");
+    }
+
+    @Operation(summary = "String 저장 (TTL)", description = "만료 시간(TTL)과 함께 데이터를 저장합니다.")
+    @PostMapping("/string/expire")
+    public Mono<String> setStringWithExpire(
+            @Parameter(description = "저장할 키", required = true) @RequestParam String key,
+            @Parameter(description = "저장할 값", required = true) @RequestParam String value,
+            @Parameter(description = "만료 시간(초)", example = "60") @RequestParam(defaultValue = "60") long seconds) {
+        return reactiveRedisService.setStringWithExpire(key, value, Duration.ofSeconds(seconds))
+                .thenReturn("String 저장 완료 (TTL: " + seconds + "초)");
+    }
+
+    @Operation(summary = "카운터 증가", description = "숫자 값을 지정한 만큼 증가시킵니다.")
+    @PostMapping("/string/increment/{key}")
+    public Mono<Long> increment(
+            @Parameter(description = "증가시킬 키", required = true) @PathVariable String key,
+            @Parameter(description = "증가량", example = "1") @RequestParam(defaultValue = "1") long delta) {
+        return reactiveRedisService.incrementBy(key, delta);
+    }
+
+    // ==================== List ====================
+
+    @Operation(summary = "List에 항목 추가", description = "List 끝에 여러 항목을 추가합니다.")
+    @PostMapping("/list/{key}")
+    public Mono<String> addToList(
+            @Parameter(description = "List 키", required = true) @PathVariable String key,
+            @Parameter(description = "추가할 항목들", required = true) @RequestBody List<String> values) {
+        return reactiveRedisService.pushToList(key, values.toArray())
+                .map(size -> "List에 " + values.size() + "개 항목 추가 완료 (크기: " + size + ")");
+    }
+
+    @Operation(summary = "List 범위 조회", description = "List의 특정 범위 항목을 조회합니다.")
+    @GetMapping("/list/{key}/range")
+    public Flux<Object> getListRange(
+            @Parameter(description = "List 키", required = true) @PathVariable String key,
+            @Parameter(description = "시작 인덱스", example = "0") @RequestParam(defaultValue = "0") long start,
+            @Parameter(description = "끝 인덱스", example = "9") @RequestParam(defaultValue = "9") long end) {
+        return reactiveRedisService.getList(key, start, end);
+    }
+
+    @Operation(summary = "List에서 항목 꺼내기 (LPOP)", description = "List의 첫 번째 항목을 꺼냅니다.")
+    @DeleteMapping("/list/{key}/pop")
+    public Mono<Object> popFromList(
+            @Parameter(description = "List 키", required = true) @PathVariable String key) {
+        return reactiveRedisService.popFromList(key);
+    }
+
+    @Operation(summary = "List 크기 조회", description = "List의 항목 개수를 조회합니다.")
+    @GetMapping("/list/{key}/size")
+    public Mono<Long> getListSize(
+            @Parameter(description = "List 키", required = true) @PathVariable String key) {
+        return reactiveRedisService.getListSize(key);
+    }
+
+    // ==================== Set ====================
+
+    @Operation(summary = "Set에 항목 추가", description = "중복이 없는 Set에 항목을 추가합니다.")
+    @PostMapping("/set/{key}")
+    public Mono<Long> addToSet(
+            @Parameter(description = "Set 키", required = true) @PathVariable String key,
+            @Parameter(description = "추가할 항목들", required = true) @RequestBody List<String> values) {
+        return reactiveRedisService.addToSet(key, values.toArray());
+    }
+
+    @Operation(summary = "Set 조회", description = "Set의 모든 멤버를 조회합니다.")
+    @GetMapping("/set/{key}")
+    public Flux<Object> getSet(
+            @Parameter(description = "Set 키", required = true) @PathVariable String key) {
+        return reactiveRedisService.getSetMembers(key);
+    }
+
+    @Operation(summary = "Set 멤버십 확인", description = "특정 값이 Set에 포함되어 있는지 확인합니다.")
+    @GetMapping("/set/{key}/contains")
+    public Mono<Boolean> isSetMember(
+            @Parameter(description = "Set 키", required = true) @PathVariable String key,
+            @Parameter(description = "확인할 값", required = true) @RequestParam String value) {
+        return reactiveRedisService.isMemberOfSet(key, value);
+    }
+
+    @Operation(summary = "Set 크기 조회", description = "Set의 멤버 개수를 조회합니다.")
+    @GetMapping("/set/{key}/size")
+    public Mono<Long> getSetSize(
+            @Parameter(description = "Set 키", required = true) @PathVariable String key) {
+        return reactiveRedisService.getSetSize(key);
+    }
+
+    @Operation(summary = "Set 교집합", description = "두 Set의 교집합을 반환합니다.")
+    @GetMapping("/set/intersect")
+    public Flux<Object> setIntersect(
+            @Parameter(description = "첫 번째 Set 키", required = true) @RequestParam String key1,
+            @Parameter(description = "두 번째 Set 키", required = true) @RequestParam String key2) {
+        return reactiveRedisService.setIntersect(key1, key2);
+    }
+
+    @Operation(summary = "Set 합집합", description = "두 Set의 합집합을 반환합니다.")
+    @GetMapping("/set/union")
+    public Flux<Object> setUnion(
+            @Parameter(description = "첫 번째 Set 키", required = true) @RequestParam String key1,
+            @Parameter(description = "두 번째 Set 키", required = true) @RequestParam String key2) {
+        return reactiveRedisService.setUnion(key1, key2);
+    }
+
+    @Operation(summary = "Set 차집합", description = "두 Set의 차집합을 반환합니다.")
+    @GetMapping("/set/difference")
+    public Flux<Object> setDifference(
+            @Parameter(description = "첫 번째 Set 키", required = true) @RequestParam String key1,
+            @Parameter(description = "두 번째 Set 키", required = true) @RequestParam String key2) {
+        return reactiveRedisService.setDifference(key1, key2);
+    }
+
+    // ==================== Sorted Set ====================
+
+    @Operation(summary = "Sorted Set에 항목 추가", description = "점수와 함께 항목을 추가합니다.")
+    @PostMapping("/sortedset/{key}")
+    public Mono<Boolean> addToSortedSet(
+            @Parameter(description = "Sorted Set 키", required = true) @PathVariable String key,
+            @Parameter(description = "추가할 값", required = true) @RequestParam String value,
+            @Parameter(description = "점수", required = true, example = "100.0") @RequestParam double score) {
+        return reactiveRedisService.addToSortedSet(key, value, score);
+    }
+
+    @Operation(summary = "Sorted Set 조회 (오름차순)", description = "점수가 낮은 순서대로 조회합니다.")
+    @GetMapping("/sortedset/{key}/range")
+    public Flux<Object> getSortedSetRange(
+            @Parameter(description = "Sorted Set 키", required = true) @PathVariable String key,
+            @Parameter(description = "시작 인덱스", example = "0") @RequestParam(defaultValue = "0") long start,
+            @Parameter(description = "끝 인덱스", example = "9") @RequestParam(defaultValue = "9") long end) {
+        return reactiveRedisService.getSortedSetRange(key, start, end);
+    }
+
+    @Operation(summary = "Sorted Set 조회 (내림차순)", description = "점수가 높은 순서대로 조회합니다.")
+    @GetMapping("/sortedset/{key}/reverse")
+    public Flux<Object> getSortedSetReverseRange(
+            @Parameter(description = "Sorted Set 키", required = true) @PathVariable String key,
+            @Parameter(description = "시작 인덱스", example = "0") @RequestParam(defaultValue = "0") long start,
+            @Parameter(description = "끝 인덱스", example = "9") @RequestParam(defaultValue = "9") long end) {
+        return reactiveRedisService.getSortedSetReverseRange(key, start, end);
+    }
+
+    @Operation(summary = "Sorted Set 순위 조회", description = "특정 항목의 순위와 점수를 조회합니다.")
+    @GetMapping("/sortedset/{key}/rank")
+    public Mono<Map<String, Object>> getSortedSetRank(
+            @Parameter(description = "Sorted Set 키", required = true) @PathVariable String key,
+            @Parameter(description = "조회할 값", required = true) @RequestParam String value) {
+        Mono<Long> rank = reactiveRedisService.getSortedSetRank(key, value).defaultIfEmpty(-1L);
+        Mono<Double> score = reactiveRedisService.getSortedSetScore(key, value).defaultIfEmpty(Double.NaN);
+
+        return Mono.zip(rank, score).map(tuple -> {
+            Map<String, Object> response = new HashMap<>();
+            response.put("value", value);
+            response.put("rank", tuple.getT1() >= 0 ? tuple.getT1() : null);
+            response.put("score", tuple.getT2().isNaN() ? null : tuple.getT2());
+            return response;
+        });
+    }
+
+    // ==================== Hash ====================
+
+    @Operation(summary = "Hash 필드 저장", description = "Hash의 특정 필드에 값을 저장합니다.")
+    @PostMapping("/hash/{key}/field")
+    public Mono<Boolean> setHashField(
+            @Parameter(description = "Hash 키", required = true) @PathVariable String key,
+            @Parameter(description = "필드명", required = true) @RequestParam String field,
+            @Parameter(description = "필드값", required = true) @RequestParam String value) {
+        return reactiveRedisService.setHash(key, field, value);
+    }
+
+    @Operation(summary = "Hash 전체 저장", description = "여러 필드를 한 번에 저장합니다.")
+    @PostMapping("/hash/{key}")
+    public Mono<Boolean> setHashAll(
+            @Parameter(description = "Hash 키", required = true) @PathVariable String key,
+            @Parameter(description = "필드-값 맵", required = true) @RequestBody Map<String, Object> data) {
+        return reactiveRedisService.setHashAll(key, data);
+    }
+
+    @Operation(summary = "Hash 전체 조회", description = "Hash의 모든 필드와 값을 조회합니다.")
+    @GetMapping("/hash/{key}")
+    public Mono<Map<String, Object>> getHash(
+            @Parameter(description = "Hash 키", required = true) @PathVariable String key) {
+        return reactiveRedisService.getHashAll(key)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    @Operation(summary = "Hash 필드 조회", description = "Hash의 특정 필드 값을 조회합니다.")
+    @GetMapping("/hash/{key}/field")
+    public Mono<Object> getHashField(
+            @Parameter(description = "Hash 키", required = true) @PathVariable String key,
+            @Parameter(description = "필드명", required = true) @RequestParam String field) {
+        return reactiveRedisService.getHashField(key, field);
+    }
+
+    @Operation(summary = "Hash 키 목록 조회", description = "Hash의 모든 필드명을 조회합니다.")
+    @GetMapping("/hash/{key}/keys")
+    public Flux<String> getHashKeys(
+            @Parameter(description = "Hash 키", required = true) @PathVariable String key) {
+        return reactiveRedisService.getHashKeys(key);
+    }
+
+    @Operation(summary = "Hash 값 목록 조회", description = "Hash의 모든 값을 조회합니다.")
+    @GetMapping("/hash/{key}/values")
+    public Flux<Object> getHashValues(
+            @Parameter(description = "Hash 키", required = true) @PathVariable String key) {
+        return reactiveRedisService.getHashValues(key);
+    }
+
+    @Operation(summary = "Hash 필드 존재 확인", description = "Hash에 특정 필드가 있는지 확인합니다.")
+    @GetMapping("/hash/{key}/exists")
+    public Mono<Boolean> hasHashKey(
+            @Parameter(description = "Hash 키", required = true) @PathVariable String key,
+            @Parameter(description = "필드명", required = true) @RequestParam String field) {
+        return reactiveRedisService.hasHashKey(key, field);
+    }
+
+    // ==================== HyperLogLog ====================
+
+    @Operation(summary = "HyperLogLog에 항목 추가", description = "고유 값 카운팅을 위해 항목을 추가합니다.")
+    @PostMapping("/hyperloglog/{key}")
+    public Mono<Map<String, Object>> addToHyperLogLog(
+            @Parameter(description = "HyperLogLog 키", required = true) @PathVariable String key,
+            @Parameter(description = "추가할 항목들", required = true) @RequestBody List<String> values) {
+        return reactiveRedisService.addToHyperLogLog(key, values.toArray())
+                .zipWhen(added -> reactiveRedisService.getHyperLogLogSize(key))
+                .map(tuple -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("addedCount", tuple.getT1());
+                    response.put("totalUniqueCount", tuple.getT2());
+                    return response;
+                });
+    }
+
+    @Operation(summary = "HyperLogLog 카운트 조회", description = "고유 값의 개수를 추정합니다.")
+    @GetMapping("/hyperloglog/{key}/count")
+    public Mono<Map<String, Long>> getHyperLogLogCount(
+            @Parameter(description = "HyperLogLog 키", required = true) @PathVariable String key) {
+        return reactiveRedisService.getHyperLogLogSize(key)
+                .map(count -> Map.of("uniqueCount", count));
+    }
+
+    // ==================== Geo ====================
+
+    @Operation(summary = "지리적 위치 저장", description = "위도/경도 좌표를 저장합니다.")
+    @PostMapping("/geo/{key}")
+    public Mono<String> addGeoLocation(
+            @Parameter(description = "Geo 키", required = true) @PathVariable String key,
+            @Parameter(description = "위치 정보", required = true) @RequestBody Location location) {
+        return reactiveRedisService.addGeoLocation(key, location.getLongitude(),
+                                                   location.getLatitude(), location.getName())
+                .thenReturn("위치 정보 저장 완료: " + location.getName());
+    }
+
+    @Operation(summary = "두 지점 간 거리 계산", description = "두 위치 간의 거리를 계산합니다. (km 단위)")
+    @GetMapping("/geo/{key}/distance")
+    public Mono<Map<String, Object>> getDistance(
+            @Parameter(description = "Geo 키", required = true) @PathVariable String key,
+            @Parameter(description = "첫 번째 위치명", required = true) @RequestParam String member1,
+            @Parameter(description = "두 번째 위치명", required = true) @RequestParam String member2) {
+        return reactiveRedisService.getDistance(key, member1, member2)
+                .map(distance -> distanceResponse(member1, member2, distance.getValue()))
+                .defaultIfEmpty(distanceResponse(member1, member2, null));
+    }
+
+    @Operation(summary = "반경 내 위치 검색", description = "특정 좌표 주변의 위치를 검색합니다.")
+    @GetMapping("/geo/{key}/radius")
+    public Flux<Map<String, Object>> getGeoRadius(
+            @Parameter(description = "Geo 키", required = true) @PathVariable String key,
+            @Parameter(description = "경도", required = true, example = "126.9780") @RequestParam double longitude,
+            @Parameter(description = "위도", required = true, example = "37.5665") @RequestParam double latitude,
+            @Parameter(description = "반경 (km)", example = "10") @RequestParam(defaultValue = "10") double radius) {
+        return reactiveRedisService.getGeoRadius(key, longitude, latitude, radius)
+                .map(ReactiveRedisController::toGeoItem);
+    }
+
+    @Operation(summary = "특정 위치 주변 검색", description = "저장된 위치를 기준으로 주변을 검색합니다.")
+    @GetMapping("/geo/{key}/radius/member")
+    public Flux<Map<String, Object>> getGeoRadiusByMember(
+            @Parameter(description = "Geo 키", required = true) @PathVariable String key,
+            @Parameter(description = "기준 위치명", required = true) @RequestParam String member,
+            @Parameter(description = "반경 (km)", example = "10") @RequestParam(defaultValue = "10") double radius) {
+        return reactiveRedisService.getGeoRadiusByMember(key, member, radius)
+                .map(ReactiveRedisController::toGeoItem);
+    }
+
+    private static Map<String, Object> distanceResponse(String member1, String member2, Double distance) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("from", member1);
+        response.put("to", member2);
+        response.put("distance", distance);
+        response.put("unit", "km");
+        return response;
+    }
+
+    private static Map<String, Object> toGeoItem(GeoResult<RedisGeoCommands.GeoLocation<Object>> result) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("name", result.getContent().getName());
+        item.put("distance", result.getDistance().getValue());
+        item.put("longitude", result.getContent().getPoint().getX());
+        item.put("latitude", result.getContent().getPoint().getY());
+        return item;
+    }
+
+    // ==================== 공통 ====================
+
+    @Operation(summary = "키 존재 여부 확인", description = "특정 키가 Redis에 존재하는지 확인합니다.")
+    @GetMapping("/key/{key}/exists")
+    public Mono<Map<String, Object>> hasKey(
+            @Parameter(description = "확인할 키", required = true) @PathVariable String key) {
+        return reactiveRedisService.hasKey(key)
+                .map(exists -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("key", key);
+                    response.put("exists", exists);
+                    return response;
+                });
+    }
+
+    @Operation(summary = "TTL 설정", description = "키의 만료 시간(TTL)을 설정합니다.")
+    @PostMapping("/key/{key}/expire")
+    public Mono<String> setExpire(
+            @Parameter(description = "키", required = true) @PathVariable String key,
+            @Parameter(description = "만료 시간(초)", required = true, example = "60") @RequestParam long seconds) {
+        return reactiveRedisService.expire(key, Duration.ofSeconds(seconds))
+                .map(success -> success ? "TTL 설정 완료 (" + seconds + "초)" : "실패 (키가 존재하지 않음)");
+    }
+
+    @Operation(summary = "TTL 조회", description = "키의 남은 만료 시간을 조회합니다. (초 단위)")
+    @GetMapping("/key/{key}/ttl")
+    public Mono<Map<String, Object>> getTTL(
+            @Parameter(description = "키", required = true) @PathVariable String key) {
+        return reactiveRedisService.getExpire(key)
+                .map(ttl -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("key", key);
+                    response.put("ttl", ttl.getSeconds());
+                    response.put("unit", "seconds");
+                    return response;
+                });
+    }
+
+    @Operation(summary = "키 삭제", description = "Redis에서 특정 키를 삭제합니다.")
+    @DeleteMapping("/key/{key}")
+    public Mono<Map<String, Object>> deleteKey(
+            @Parameter(description = "삭제할 키", required = true) @PathVariable String key) {
+        return reactiveRedisService.deleteKey(key)
+                .map(deleted -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("key", key);
+                    response.put("deleted", deleted);
+                    response.put("message", deleted ? "키 삭제 완료" : "키가 존재하지 않음");
+                    return response;
+                });
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.redistest.controller;
 
+import com.example.redistest.dto.SetStoreResult;
 import com.example.redistest.service.RedisDataStructureService;
+import com.example.redistest.service.RedisDataStructureService.SetOperation;
+import com.example.redistest.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,7 +29,12 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class SetRedisController {
 
+    private static final int MAX_PAGE_SIZE = 10_000;
+    private static final int MAX_OPERAND_KEYS = 100;
+    private static final long MAX_STORE_TTL_SECONDS = 86_400;
+
     private final RedisDataStructureService redisService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Set에 항목 추가", description = "중복이 없는 Set에 항목을 추가합니다. (태그, 팔로워 관계)")
     @PostMapping("/{key}")
@@ -61,31 +76,121 @@ public class SetRedisController {
         return ResponseEntity.ok(size);
     }
 
-    @Operation(summary = "Set 교집합", description = "두 Set의 교집합을 반환합니다.")
+    @Operation(summary = "Set 교집합", description = "여러 Set의 교집합을 반환합니다. (keys로 세 번째 이후 키 추가)")
     @GetMapping("/intersect")
     public ResponseEntity<Set<Object>> setIntersect(
             @Parameter(description = "첫 번째 Set 키", required = true) @RequestParam String key1,
-            @Parameter(description = "두 번째 Set 키", required = true) @RequestParam String key2) {
-        Set<Object> result = redisService.setIntersect(key1, key2);
+            @Parameter(description = "두 번째 Set 키", required = true) @RequestParam String key2,
+            @Parameter(description = "추가 Set 키들") @RequestParam(required = false) List<String> keys) {
+        Set<Object> result = redisService.setIntersect(operandKeys(key1, key2, keys));
         return ResponseEntity.ok(result);
     }
 
-    @Operation(summary = "Set 합집합", description = "두 Set의 합집합을 반환합니다.")
+    @Operation(summary = "Set 합집합", description = "여러 Set의 합집합을 반환합니다. (keys로 세 번째 이후 키 추가)")
     @GetMapping("/union")
     public ResponseEntity<Set<Object>> setUnion(
             @Parameter(description = "첫 번째 Set 키", required = true) @RequestParam String key1,
-            @Parameter(description = "두 번째 Set 키", required = true) @RequestParam String key2) {
-        Set<Object> result = redisService.setUnion(key1, key2);
+            @Parameter(description = "두 번째 Set 키", required = true) @RequestParam String key2,
+            @Parameter(description = "추가 Set 키들") @RequestParam(required = false) List<String> keys) {
+        Set<Object> result = redisService.setUnion(operandKeys(key1, key2, keys));
         return ResponseEntity.ok(result);
     }
 
-    @Operation(summary = "Set 차집합", description = "두 Set의 차집합을 반환합니다.")
+    @Operation(summary = "Set 차집합", description = "첫 번째 Set에서 나머지 Set들을 뺀 차집합을 반환합니다. (keys로 세 번째 이후 키 추가)")
     @GetMapping("/difference")
     public ResponseEntity<Set<Object>> setDifference(
             @Parameter(description = "첫 번째 Set 키", required = true) @RequestParam String key1,
-            @Parameter(description = "두 번째 Set 키", required = true) @RequestParam String key2) {
-        Set<Object> result = redisService.setDifference(key1, key2);
+            @Parameter(description = "두 번째 Set 키", required = true) @RequestParam String key2,
+            @Parameter(description = "추가 Set 키들") @RequestParam(required = false) List<String> keys) {
+        Set<Object> result = redisService.setDifference(operandKeys(key1, key2, keys));
         return ResponseEntity.ok(result);
     }
-}
 
+    @Operation(summary = "Set 연산 결과 저장 (SINTERSTORE/SUNIONSTORE/SDIFFSTORE)",
+               description = "집합 연산 결과를 Redis에 TTL과 함께 저장하고, 결과 키와 크기만 반환합니다. "
+                       + "같은 연산/키 조합은 TTL 동안 저장된 결과를 재사용합니다(cached=true). "
+                       + "결과 멤버는 /api/redis/set/{resultKey}/stream 으로 조회합니다.")
+    @PostMapping("/store")
+    public ResponseEntity<SetStoreResult> storeSetOperation(
+            @Parameter(description = "연산 (inter, union, diff)", required = true, example = "inter") @RequestParam String op,
+            @Parameter(description = "Set 키들 (2개 이상, diff는 첫 번째 키 기준)", required = true) @RequestParam List<String> keys,
+            @Parameter(description = "결과 보관 시간(초)", example = "300") @RequestParam(defaultValue = "300") long ttl,
+            @Parameter(description = "저장된 결과를 무시하고 다시 계산") @RequestParam(defaultValue = "false") boolean refresh) {
+        if (ttl <= 0 || ttl > MAX_STORE_TTL_SECONDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ttl은 1~" + MAX_STORE_TTL_SECONDS + "초 사이여야 합니다.");
+        }
+        SetStoreResult result = redisService.storeSetOperation(parseOperation(op), validateKeys(keys),
+                Duration.ofSeconds(ttl), refresh);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Set 교집합 크기 (SINTERCARD)",
+               description = "교집합 멤버를 전송하지 않고 크기만 계산합니다. limit을 주면 그 개수에 도달하는 즉시 멈춥니다. (Redis 7.0 이상)")
+    @GetMapping("/intersect/card")
+    public ResponseEntity<Map<String, Object>> setIntersectCard(
+            @Parameter(description = "Set 키들 (2개 이상)", required = true) @RequestParam List<String> keys,
+            @Parameter(description = "최대 계산 개수 (0: 제한 없음)", example = "0") @RequestParam(defaultValue = "0") long limit) {
+        if (limit < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit은 0 이상이어야 합니다.");
+        }
+        Long cardinality = redisService.setIntersectCard(validateKeys(keys), limit);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("keys", keys);
+        response.put("cardinality", cardinality);
+        response.put("limit", limit);
+        response.put("limitReached", limit > 0 && cardinality != null && cardinality >= limit);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Set 멤버 스트리밍 조회 (SSCAN)",
+               description = "SSCAN으로 멤버를 나눠 읽어 NDJSON으로 스트리밍합니다. SMEMBERS와 달리 큰 Set에서도 서버를 막지 않습니다. "
+                       + "페이지마다 {\"cursor\": ...} 줄이 붙으므로 중단되면 마지막 커서로 이어서 조회할 수 있습니다.")
+    @GetMapping(value = "/{key}/stream", produces = "application/x-ndjson")
+    public void streamSet(
+            @Parameter(description = "Set 키", required = true) @PathVariable String key,
+            @Parameter(description = "멤버 패턴 (glob)", example = "*") @RequestParam(defaultValue = "*") String match,
+            @Parameter(description = "SSCAN 1회당 항목 수 힌트 (COUNT)", example = "500") @RequestParam(defaultValue = "500") int pageSize,
+            @Parameter(description = "시작 커서", example = "0") @RequestParam(defaultValue = "0") String cursor,
+            @Parameter(description = "최대 멤버 수 (0: 제한 없음)", example = "0") @RequestParam(defaultValue = "0") long limit,
+            HttpServletResponse response) throws IOException {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "pageSize는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        if (!NdjsonWriter.isValidCursor(cursor)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서: " + cursor);
+        }
+
+        response.setContentType(NdjsonWriter.MEDIA_TYPE.toString());
+        response.setCharacterEncoding("UTF-8");
+        new NdjsonWriter(objectMapper, response.getOutputStream()).writeScan(cursor, limit,
+                next -> redisService.scanSetMembers(key, next, match, pageSize),
+                member -> Map.of("member", member));
+    }
+
+    private static List<String> operandKeys(String key1, String key2, List<String> extraKeys) {
+        List<String> keys = new ArrayList<>();
+        keys.add(key1);
+        keys.add(key2);
+        if (extraKeys != null) {
+            keys.addAll(extraKeys);
+        }
+        return validateKeys(keys);
+    }
+
+    private static List<String> validateKeys(List<String> keys) {
+        if (keys.size() < 2 || keys.size() > MAX_OPERAND_KEYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "키는 2~" + MAX_OPERAND_KEYS + "개여야 합니다.");
+        }
+        return keys;
+    }
+
+    private static SetOperation parseOperation(String op) {
+        try {
+            return SetOperation.valueOf(op.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "알 수 없는 연산: " + op);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.redistest.controller;
+
+import com.example.redistest.cache.RedisRegionFactory;
+import com.example.redistest.config.ConcurrencyLimitFilter;
+import com.example.redistest.serializer.CompressionStats;
+import com.example.redistest.service.BufferedCounterService;
+import com.example.redistest.service.HyperLogLogAggregator;
+import com.example.redistest.service.NearCacheService;
+import com.example.redistest.service.ProductBloomFilterService;
+import com.example.redistest.service.ProductIndexService;
+import com.example.redistest.service.ProductCacheService;
+import com.example.redistest.service.RequestCoalescer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@Tag(name = "9. 통계", description = "캐시 히트/미스 등 운영 통계")
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final ProductCacheService productCacheService;
+    private final NearCacheService nearCacheService;
+    private final RequestCoalescer requestCoalescer;
+    private final CompressionStats compressionStats;
+    private final BufferedCounterService bufferedCounterService;
+    private final HyperLogLogAggregator hyperLogLogAggregator;
+    private final ProductIndexService productIndexService;
+    private final ProductBloomFilterService productBloomFilterService;
+    private final RedisRegionFactory redisRegionFactory;
+    private final ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilter;
+
+    @Operation(summary = "상품 캐시 통계", description = "상품 캐시의 히트/미스 횟수와 히트율을 조회합니다.")
+    @GetMapping("/product-cache")
+    public ResponseEntity<Map<String, Object>> getProductCacheStats() {
+        return ResponseEntity.ok(productCacheService.getStats());
+    }
+
+    @Operation(summary = "니어 캐시 통계", description = "로컬(L1) 캐시의 리전별 크기, 히트율, 무효화 메시지 수를 조회합니다.")
+    @GetMapping("/near-cache")
+    public ResponseEntity<Map<String, Object>> getNearCacheStats() {
+        return ResponseEntity.ok(nearCacheService.getStats());
+    }
+
+    @Operation(summary = "요청 병합 통계", description = "캐시 미스 시 병합된 호출 수와 분산 리스 획득/대기 횟수를 조회합니다.")
+    @GetMapping("/coalescing")
+    public ResponseEntity<Map<String, Object>> getCoalescingStats() {
+        return ResponseEntity.ok(requestCoalescer.getStats());
+    }
+
+    @Operation(summary = "값 압축 통계", description = "키 접두사별 압축률과 평균 압축/해제 시간을 조회합니다.")
+    @GetMapping("/compression")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCompressionStats() {
+        return ResponseEntity.ok(compressionStats.snapshot());
+    }
+
+    @Operation(summary = "카운터 버퍼 통계", description = "버퍼에 남은 키 수와 버퍼/직접 반영 횟수, 반영 실패 횟수를 조회합니다.")
+    @GetMapping("/counter-buffer")
+    public ResponseEntity<Map<String, Object>> getCounterBufferStats() {
+        return ResponseEntity.ok(bufferedCounterService.getStats());
+    }
+
+    @Operation(summary = "HyperLogLog 수집 통계", description = "병합 대기 중인 로컬 스케치 수와 스케치/직접 기록한 이벤트 수를 조회합니다.")
+    @GetMapping("/hyperloglog")
+    public ResponseEntity<Map<String, Object>> getHyperLogLogStats() {
+        return ResponseEntity.ok(hyperLogLogAggregator.getStats());
+    }
+
+    @Operation(summary = "상품 검색 인덱스 통계", description = "현재/재구축 중인 인덱스 세대와 검색, 재구축, 반영 실패 횟수를 조회합니다.")
+    @GetMapping("/product-index")
+    public ResponseEntity<Map<String, Object>> getProductIndexStats() {
+        return ResponseEntity.ok(productIndexService.getStats());
+    }
+
+    @Operation(summary = "상품 블룸 필터 통계", description = "비트맵 크기, 켜진 비트 수로 추정한 삽입 수/오탐률, 거절/통과/오탐 횟수를 조회합니다.")
+    @GetMapping("/product-bloom")
+    public ResponseEntity<Map<String, Object>> getProductBloomStats() {
+        return ResponseEntity.ok(productBloomFilterService.getStats());
+    }
+
+    @Operation(summary = "Hibernate 2차 캐시 통계", description = "엔티티/쿼리/타임스탬프 리전별 Redis 히트/미스, 저장/삭제/오류 횟수를 조회합니다.")
+    @GetMapping("/l2-cache")
+    public ResponseEntity<Map<String, Object>> getSecondLevelCacheStats() {
+        return ResponseEntity.ok(redisRegionFactory.getStats());
+    }
+
+    @Operation(summary = "동시 요청 제한 통계", description = "처리 중/대기 중인 요청 수와 503으로 거절된 요청 수를 조회합니다.")
+    @GetMapping("/concurrency")
+    public ResponseEntity<Map<String, Object>> getConcurrencyStats() {
+        ConcurrencyLimitFilter filter = concurrencyLimitFilter.getIfAvailable();
+        if (filter == null) {
+            return ResponseEntity.ok(Map.of("enabled", false));
+        }
+        return ResponseEntity.ok(filter.getStats());
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.redistest.controller;
 
+import com.example.redistest.dto.StringEntryRequest;
+import com.example.redistest.service.BufferedCounterService;
 import com.example.redistest.service.RedisDataStructureService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,6 +10,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Tag(name = "1. String", description = "기본적인 Key-Value 저장소 (캐싱, 카운터, 세션)")
@@ -17,6 +24,7 @@ import java.util.concurrent.TimeUnit;
 public class StringRedisController {
 
     private final RedisDataStructureService redisService;
+    private final BufferedCounterService counterService;
 
     @Operation(summary = "String 저장", description = "가장 기본적인 Key-Value 형태로 데이터를 저장합니다.")
     @PostMapping
@@ -45,11 +53,50 @@ public class StringRedisController {
         return ResponseEntity.ok("String 저장 완료 (TTL: " + seconds + "초)");
     }
 
-    @Operation(summary = "카운터 증가", description = "숫자 값을 1씩 증가시킵니다. (조회수, 좋아요 수 등)")
+    @Operation(summary = "String 다중 조회 (MGET)", description = "여러 키의 값을 한 번의 요청으로 조회합니다. 결과는 요청한 키 순서대로 반환됩니다.")
+    @PostMapping("/mget")
+    public ResponseEntity<List<Map<String, Object>>> multiGet(
+            @Parameter(description = "조회할 키 목록", required = true) @RequestBody List<String> keys) {
+        List<String> values = redisService.multiGetString(keys);
+        
+        List<Map<String, Object>> response = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("key", keys.get(i));
+            item.put("value", values.get(i));
+            response.add(item);
+        }
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "String 다중 저장 (MSET)", description = "여러 키-값을 한 번의 요청으로 저장합니다.")
+    @PostMapping("/mset")
+    public ResponseEntity<String> multiSet(
+            @Parameter(description = "키-값 맵", required = true) @RequestBody LinkedHashMap<String, String> values) {
+        redisService.multiSetString(values);
+        return ResponseEntity.ok("String " + values.size() + "개 저장 완료");
+    }
+
+    @Operation(summary = "String 다중 저장 (키별 TTL)", description = "키마다 다른 만료 시간으로 여러 값을 저장합니다. (SET EX 파이프라인)")
+    @PostMapping("/mset/expire")
+    public ResponseEntity<String> multiSetWithExpire(
+            @Parameter(description = "키, 값, 만료 시간(초) 목록", required = true) @RequestBody List<StringEntryRequest> entries) {
+        if (entries.stream().anyMatch(entry -> entry.getSeconds() <= 0)) {
+            return ResponseEntity.badRequest().body("만료 시간(초)은 0보다 커야 합니다");
+        }
+        redisService.multiSetStringWithExpire(entries);
+        return ResponseEntity.ok("String " + entries.size() + "개 저장 완료 (TTL)");
+    }
+
+    @Operation(summary = "카운터 증가",
+               description = "숫자 값을 1씩 증가시킵니다. (조회수, 좋아요 수 등) "
+                       + "버퍼 모드(app.counter.buffered.enabled)에서는 증가분을 모아 주기적으로 반영하며 추정치를 반환합니다.")
     @PostMapping("/increment/{key}")
     public ResponseEntity<Long> increment(
-            @Parameter(description = "증가시킬 키", required = true) @PathVariable String key) {
-        Long result = redisService.increment(key);
+            @Parameter(description = "증가시킬 키", required = true) @PathVariable String key,
+            @Parameter(description = "버퍼 모드에서도 바로 반영하고 실제 값을 반환") @RequestParam(defaultValue = "false") boolean sync) {
+        Long result = counterService.increment(key, 1, sync);
         return ResponseEntity.ok(result);
     }
 
@@ -57,9 +104,34 @@ public class StringRedisController {
     @PostMapping("/increment/{key}/by")
     public ResponseEntity<Long> incrementBy(
             @Parameter(description = "증가시킬 키", required = true) @PathVariable String key,
-            @Parameter(description = "증가량", required = true, example = "10") @RequestParam long delta) {
-        Long result = redisService.incrementBy(key, delta);
+            @Parameter(description = "증가량", required = true, example = "10") @RequestParam long delta,
+            @Parameter(description = "버퍼 모드에서도 바로 반영하고 실제 값을 반환") @RequestParam(defaultValue = "false") boolean sync) {
+        Long result = counterService.increment(key, delta, sync);
         return ResponseEntity.ok(result);
     }
-}
 
+    @Operation(summary = "샤딩 카운터 증가",
+               description = "쓰기를 N개의 서브키(key:0 ~ key:N-1) 중 하나로 분산합니다. 한 키에 쓰기가 몰리는 인기 카운터용. "
+                       + "샤드 수는 app.counter.sharded.shards의 키 접두사별 설정을 따릅니다.")
+    @PostMapping("/sharded-counter/{key}")
+    public ResponseEntity<Map<String, Object>> incrementSharded(
+            @Parameter(description = "카운터 키", required = true) @PathVariable String key,
+            @Parameter(description = "증가량", example = "1") @RequestParam(defaultValue = "1") long delta) {
+        return ResponseEntity.ok(redisService.incrementSharded(key, delta));
+    }
+
+    @Operation(summary = "샤딩 카운터 조회", description = "모든 서브키를 MGET 한 번으로 읽어 합계를 반환합니다.")
+    @GetMapping("/sharded-counter/{key}")
+    public ResponseEntity<Map<String, Object>> getShardedCount(
+            @Parameter(description = "카운터 키", required = true) @PathVariable String key,
+            @Parameter(description = "로컬에 보관한 합계 사용 (total-cache-ttl 이내)") @RequestParam(defaultValue = "false") boolean cached) {
+        long count = redisService.getShardedCount(key, cached);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("key", key);
+        response.put("count", count);
+        response.put("cached", cached);
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.redistest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geo 일괄 저장 결과
+ * added: 새로 추가된 멤버 수, existing: 이미 있던 멤버 수 (좌표를 덮어썼지만 실제로 바뀌었는지는 세지 않는다)
+ * totalMillis: 전체 소요 시간 (파이프라인 모드에서는 모든 청크의 전송과 응답 수신까지 포함)
+ */
+@Data
+public class GeoBatchResult {
+    private int requested;
+    private int distinctMembers;
+    private long added;
+    private long existing;
+    private int chunkSize;
+    private boolean pipelined;
+    private double totalMillis;
+    private List<ChunkTiming> chunks = new ArrayList<>();
+
+    /**
+     * 청크(GEOADD 1회)별 처리 결과
+     * millis: 순차 모드에서 GEOADD 왕복 시간 (파이프라인 모드에서는 청크별 응답 시각을 알 수 없어 null)
+     * enqueueMillis: 파이프라인 모드에서 명령을 큐에 넣는 데 걸린 시간 (순차 모드에서는 null)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChunkTiming {
+        private int index;
+        private int size;
+        private long added;
+        private Double millis;
+        private Double enqueueMillis;
+    }
+}
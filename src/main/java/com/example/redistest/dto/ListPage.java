@@ -0,0 +1,20 @@
+package com.example.redistest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * List 페이지 조회 결과
+ * size는 items와 같은 시점(원자적으로)에 읽은 전체 길이
+ * nextCursor가 null이면 마지막 페이지
+ */
+@Data
+@AllArgsConstructor
+public class ListPage {
+    private long size;
+    private long cursor;
+    private Long nextCursor;
+    private List<Object> items;
+}
@@ -0,0 +1,19 @@
+package com.example.redistest.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 상품 일괄 가져오기 행
+ * id가 있으면 해당 상품을 덮어쓰고(없으면 그 id로 생성), 없으면 새로 생성한다.
+ */
+@Data
+public class ProductImportRequest {
+    private Long id;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Integer stock;
+    private String category;
+}
@@ -0,0 +1,22 @@
+package com.example.redistest.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상품 일괄 가져오기 결과
+ * inserted: 새로 생성된 상품 수, updated: 이미 있던 상품을 덮어쓴 수, skipped: 검증에 실패해 건너뛴 행 수
+ */
+@Data
+public class ProductImportResult {
+    private long rows;
+    private long inserted;
+    private long updated;
+    private long skipped;
+    private int batches;
+    private int batchSize;
+    private double totalMillis;
+    private List<String> errors = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.example.redistest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * SCAN 계열 명령 1회 호출 결과
+ * cursor: 다음 호출에 넘길 커서 ("0"이면 순회 완료)
+ */
+@Data
+@AllArgsConstructor
+public class ScanPage<T> {
+    private String cursor;
+    private List<T> items;
+
+    public boolean isFinished() {
+        return "0".equals(cursor);
+    }
+}
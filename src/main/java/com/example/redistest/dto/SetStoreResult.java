@@ -0,0 +1,23 @@
+package com.example.redistest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 집합 연산 결과 저장(*STORE) 결과
+ * cached: 같은 연산의 이전 결과를 재사용했는지 여부 (TTL이 남아 있는 동안)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SetStoreResult {
+    private String operation;
+    private List<String> keys;
+    private String resultKey;
+    private long cardinality;
+    private boolean cached;
+    private long ttlMillis;
+}
@@ -0,0 +1,17 @@
+package com.example.redistest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 다중 저장(TTL 포함) 요청 항목
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StringEntryRequest {
+    private String key;
+    private String value;
+    private long seconds;
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -11,12 +13,20 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category", columnList = "category, id"),
+        @Index(name = "idx_products_price", columnList = "price")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
     
+    // 2차 캐시(Redis) 엔티티 리전
+    public static final String CACHE_REGION = "product";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,15 @@
+package com.example.redistest.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 존재하지 않는 상품 (404)
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ProductNotFoundException extends RuntimeException {
+
+    public ProductNotFoundException(Long id) {
+        super("상품을 찾을 수 없습니다: " + id);
+    }
+}
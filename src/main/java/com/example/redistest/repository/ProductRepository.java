@@ -1,21 +1,86 @@
 package com.example.redistest.repository;
 
 import com.example.redistest.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
+    // 스트리밍 조회 fetch size: Connector/J는 Integer.MIN_VALUE일 때 결과를 한 행씩 받는다 (전체를 메모리에 올리지 않음)
+    // 스트림을 닫기 전까지 같은 연결에서 다른 쿼리를 실행할 수 없다
+    String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+    
+    // 쿼리 캐시(Redis) 리전: 결과 id 목록을 저장하고 products 테이블이 바뀌면 Hibernate가 버린다
+    String QUERY_CACHE_REGION = "product-query";
+    
     // 이름으로 검색
     List<Product> findByNameContaining(String name);
     
     // 카테고리로 검색
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Product> findByCategory(String category);
     
+    // 카테고리 키셋 페이지 조회 (인덱스가 준비되지 않았을 때)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    List<Product> findByCategoryAndIdGreaterThanOrderByIdAsc(String category, Long afterId, Limit limit);
+    
     // 가격 범위로 검색
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Product> findByPriceBetween(java.math.BigDecimal minPrice, java.math.BigDecimal maxPrice);
+    
+    // 가격 범위 페이지 조회 (인덱스가 준비되지 않았을 때)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    List<Product> findByPriceBetween(java.math.BigDecimal minPrice, java.math.BigDecimal maxPrice, Pageable pageable);
+    
+    // 카테고리 + 가격 범위 페이지 조회 (인덱스가 준비되지 않았을 때)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    List<Product> findByCategoryAndPriceBetween(String category, java.math.BigDecimal minPrice,
+                                                java.math.BigDecimal maxPrice, Pageable pageable);
+    
+    // 키셋 페이지 조회 (id > afterId, PK 인덱스로 바로 시작 위치를 찾으므로 OFFSET과 달리 뒤 페이지도 빠름)
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    
+    // 전체 스트리밍 조회 (트랜잭션 안에서 사용하고 반드시 닫을 것)
+    // 전체를 한 번 훑는 조회라 2차 캐시에 넣지 않는다
+    @Query("select p from Product p order by p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Product> streamAllOrderById();
+    
+    // afterId 이후 id만 스트리밍 조회 (블룸 필터 재구축용, 트랜잭션 안에서 사용하고 반드시 닫을 것)
+    @Query("select p.id from Product p where p.id > :afterId order by p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Long> streamIdsAfter(@Param("afterId") long afterId);
 }
-
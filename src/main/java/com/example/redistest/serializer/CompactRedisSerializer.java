@@ -0,0 +1,325 @@
+package com.example.redistest.serializer;
+
+import com.example.redistest.entity.Product;
+import com.example.redistest.model.Location;
+import com.example.redistest.model.User;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 알려진 타입(String, 숫자, User, Location, Product)을 위한 컴팩트 바이너리 직렬화
+ *
+ * 형식: [MAGIC(0xFE)][TAG][payload]
+ * - 정수는 ZigZag + 가변 길이(varint), 문자열은 (길이+1) varint 뒤에 UTF-8 (0은 null)
+ * - 필드 이름이나 @class 헤더를 저장하지 않으므로 필드 순서가 곧 스키마
+ *
+ * 0xFE는 UTF-8 JSON의 첫 바이트로 나올 수 없으므로, MAGIC으로 시작하지 않는 값은
+ * 기존 JSON 형식으로 보고 fallback 직렬화기로 읽는다. 알 수 없는 타입도 fallback으로 저장한다.
+ *
+ * 읽기는 항상 두 형식을 모두 받고 쓰기 형식만 writeCompact로 고른다.
+ * 모든 노드에 "JSON으로 쓰고 둘 다 읽기"를 먼저 배포한 뒤 writeCompact를 켜면 무중단으로 전환된다.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    public static final byte MAGIC = (byte) 0xFE;
+
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INTEGER = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_BOOLEAN = 5;
+    private static final byte TAG_BIG_DECIMAL = 6;
+    private static final byte TAG_USER = 10;
+    private static final byte TAG_LOCATION = 11;
+    private static final byte TAG_PRODUCT = 12;
+
+    private final RedisSerializer<Object> fallback;
+    private final boolean writeCompact;
+
+    public CompactRedisSerializer(RedisSerializer<?> fallback) {
+        this(fallback, true);
+    }
+
+    /**
+     * @param writeCompact false면 fallback(JSON)으로 쓰고 읽기만 두 형식을 지원
+     */
+    @SuppressWarnings("unchecked")
+    public CompactRedisSerializer(RedisSerializer<?> fallback, boolean writeCompact) {
+        this.fallback = (RedisSerializer<Object>) fallback;
+        this.writeCompact = writeCompact;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (!writeCompact) {
+            return fallback.serialize(value);
+        }
+        Output out = new Output();
+        out.write(MAGIC);
+        if (value instanceof String s) {
+            out.write(TAG_STRING);
+            out.writeRaw(s.getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Integer i) {
+            out.write(TAG_INTEGER);
+            out.writeVarLong(i);
+        } else if (value instanceof Long l) {
+            out.write(TAG_LONG);
+            out.writeVarLong(l);
+        } else if (value instanceof Double d) {
+            out.write(TAG_DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof Boolean b) {
+            out.write(TAG_BOOLEAN);
+            out.write((byte) (b ? 1 : 0));
+        } else if (value instanceof BigDecimal decimal) {
+            out.write(TAG_BIG_DECIMAL);
+            out.writeDecimal(decimal);
+        } else if (value instanceof User user) {
+            out.write(TAG_USER);
+            out.writeString(user.getId());
+            out.writeString(user.getName());
+            out.writeString(user.getEmail());
+            out.writeVarLong(user.getAge());
+        } else if (value instanceof Location location) {
+            out.write(TAG_LOCATION);
+            out.writeString(location.getName());
+            out.writeDouble(location.getLongitude());
+            out.writeDouble(location.getLatitude());
+        } else if (value instanceof Product product) {
+            out.write(TAG_PRODUCT);
+            out.writeNullableLong(product.getId());
+            out.writeString(product.getName());
+            out.writeString(product.getDescription());
+            out.writeDecimal(product.getPrice());
+            out.writeNullableLong(product.getStock() != null ? product.getStock().longValue() : null);
+            out.writeString(product.getCategory());
+            out.writeDateTime(product.getCreatedAt());
+            out.writeDateTime(product.getUpdatedAt());
+        } else {
+            return fallback.serialize(value);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < 2) {
+            throw new SerializationException("잘못된 컴팩트 형식: 타입 태그 없음");
+        }
+
+        Input in = new Input(bytes, 2);
+        byte tag = bytes[1];
+        switch (tag) {
+            case TAG_STRING:
+                return new String(bytes, 2, bytes.length - 2, StandardCharsets.UTF_8);
+            case TAG_INTEGER:
+                return (int) in.readVarLong();
+            case TAG_LONG:
+                return in.readVarLong();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_BOOLEAN:
+                return in.read() != 0;
+            case TAG_BIG_DECIMAL:
+                return in.readDecimal();
+            case TAG_USER:
+                return new User(in.readString(), in.readString(), in.readString(), (int) in.readVarLong());
+            case TAG_LOCATION:
+                return new Location(in.readString(), in.readDouble(), in.readDouble());
+            case TAG_PRODUCT:
+                Product product = new Product();
+                product.setId(in.readNullableLong());
+                product.setName(in.readString());
+                product.setDescription(in.readString());
+                product.setPrice(in.readDecimal());
+                Long stock = in.readNullableLong();
+                product.setStock(stock != null ? stock.intValue() : null);
+                product.setCategory(in.readString());
+                product.setCreatedAt(in.readDateTime());
+                product.setUpdatedAt(in.readDateTime());
+                return product;
+            default:
+                throw new SerializationException("알 수 없는 컴팩트 타입 태그: " + tag);
+        }
+    }
+
+    /**
+     * 가변 길이 인코딩 쓰기 도우미
+     */
+    private static final class Output extends ByteArrayOutputStream {
+
+        Output() {
+            super(64);
+        }
+
+        void write(byte b) {
+            super.write(b);
+        }
+
+        void writeRaw(byte[] bytes) {
+            super.write(bytes, 0, bytes.length);
+        }
+
+        void writeVarLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            writeUnsignedVarLong(zigzag);
+        }
+
+        void writeUnsignedVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                super.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            super.write((int) value);
+        }
+
+        void writeNullableLong(Long value) {
+            if (value == null) {
+                super.write(0);
+            } else {
+                super.write(1);
+                writeVarLong(value);
+            }
+        }
+
+        void writeDouble(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                super.write((int) (bits >>> shift));
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeUnsignedVarLong(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeUnsignedVarLong(utf8.length + 1L);
+            writeRaw(utf8);
+        }
+
+        void writeDecimal(BigDecimal value) {
+            if (value == null) {
+                writeUnsignedVarLong(0);
+                return;
+            }
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            writeUnsignedVarLong(unscaled.length + 1L);
+            writeRaw(unscaled);
+            writeVarLong(value.scale());
+        }
+
+        void writeDateTime(LocalDateTime value) {
+            if (value == null) {
+                super.write(0);
+                return;
+            }
+            super.write(1);
+            writeVarLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeUnsignedVarLong(value.getNano());
+        }
+    }
+
+    /**
+     * 가변 길이 인코딩 읽기 도우미
+     */
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int read() {
+            if (position >= bytes.length) {
+                throw new SerializationException("잘못된 컴팩트 형식: 데이터가 잘림");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long zigzag = readUnsignedVarLong();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        long readUnsignedVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new SerializationException("잘못된 컴팩트 형식: varint 길이 초과");
+        }
+
+        Long readNullableLong() {
+            return read() == 0 ? null : readVarLong();
+        }
+
+        double readDouble() {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | read();
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        String readString() {
+            int length = (int) readUnsignedVarLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            return new String(bytes, take(length), length, StandardCharsets.UTF_8);
+        }
+
+        BigDecimal readDecimal() {
+            int length = (int) readUnsignedVarLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            byte[] unscaled = new byte[length];
+            System.arraycopy(bytes, take(length), unscaled, 0, length);
+            return new BigDecimal(new BigInteger(unscaled), (int) readVarLong());
+        }
+
+        LocalDateTime readDateTime() {
+            if (read() == 0) {
+                return null;
+            }
+            long epochSecond = readVarLong();
+            int nano = (int) readUnsignedVarLong();
+            return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        }
+
+        private int take(int length) {
+            if (position + length > bytes.length) {
+                throw new SerializationException("잘못된 컴팩트 형식: 데이터가 잘림");
+            }
+            int start = position;
+            position += length;
+            return start;
+        }
+    }
+}
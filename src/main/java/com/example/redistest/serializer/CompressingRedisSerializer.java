@@ -0,0 +1,110 @@
+package com.example.redistest.serializer;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+
+/**
+ * 임계값 이상의 값을 LZ4로 압축하는 직렬화기 래퍼
+ *
+ * 형식: [HEADER(0xFD)][원본 길이 4바이트][LZ4 블록]
+ * 0xFD는 JSON(UTF-8)이나 컴팩트 형식(0xFE)의 첫 바이트로 나올 수 없으므로,
+ * HEADER로 시작하지 않는 값은 압축되지 않은 값으로 보고 그대로 delegate에 넘긴다.
+ * 압축해도 작아지지 않는 값은 원본 그대로 저장한다.
+ *
+ * 읽기는 항상 압축을 해제하고 쓰기만 compressWrites로 고르므로, 압축을 켜거나 끄는 롤링 배포 중에도
+ * 설정이 다른 노드가 쓴 값을 읽을 수 있다.
+ */
+public class CompressingRedisSerializer<T> implements RedisSerializer<T> {
+
+    public static final byte HEADER = (byte) 0xFD;
+    private static final int HEADER_LENGTH = 5;
+
+    /**
+     * 원본 길이 상한: Redis 문자열 최대 크기, LZ4 블록의 최대 압축률(1바이트당 255바이트 미만)
+     */
+    private static final int MAX_ORIGINAL_LENGTH = 512 * 1024 * 1024;
+    private static final int MAX_RATIO = 255;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final RedisSerializer<T> delegate;
+    private final int threshold;
+    private final CompressionStats stats;
+    private final boolean compressWrites;
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+
+    public CompressingRedisSerializer(RedisSerializer<T> delegate, int threshold, CompressionStats stats) {
+        this(delegate, threshold, stats, true);
+    }
+
+    /**
+     * @param compressWrites false면 쓰기는 delegate 그대로, 읽기만 압축 해제
+     */
+    public CompressingRedisSerializer(RedisSerializer<T> delegate, int threshold, CompressionStats stats,
+                                      boolean compressWrites) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+        this.stats = stats;
+        this.compressWrites = compressWrites;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        String prefix = CompressionStats.takeCurrentPrefix();
+        byte[] raw = delegate.serialize(value);
+        if (!compressWrites || raw == null || raw.length < threshold) {
+            return raw;
+        }
+
+        long start = System.nanoTime();
+        int maxLength = compressor.maxCompressedLength(raw.length);
+        byte[] out = new byte[HEADER_LENGTH + maxLength];
+        out[0] = HEADER;
+        out[1] = (byte) (raw.length >>> 24);
+        out[2] = (byte) (raw.length >>> 16);
+        out[3] = (byte) (raw.length >>> 8);
+        out[4] = (byte) raw.length;
+        int compressedLength = compressor.compress(raw, 0, raw.length, out, HEADER_LENGTH, maxLength);
+
+        if (HEADER_LENGTH + compressedLength >= raw.length) {
+            stats.recordSkipped(prefix);
+            return raw;
+        }
+        stats.recordCompressed(prefix, raw.length, HEADER_LENGTH + compressedLength, System.nanoTime() - start);
+        return Arrays.copyOf(out, HEADER_LENGTH + compressedLength);
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        String prefix = CompressionStats.takeCurrentPrefix();
+        if (bytes == null || bytes.length == 0 || bytes[0] != HEADER) {
+            return delegate.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("잘못된 압축 형식: 헤더가 잘림");
+        }
+
+        long start = System.nanoTime();
+        int originalLength = ((bytes[1] & 0xFF) << 24) | ((bytes[2] & 0xFF) << 16)
+                | ((bytes[3] & 0xFF) << 8) | (bytes[4] & 0xFF);
+        long maxLength = Math.min(MAX_ORIGINAL_LENGTH, (long) (bytes.length - HEADER_LENGTH) * MAX_RATIO);
+        if (originalLength < 0 || originalLength > maxLength) {
+            throw new SerializationException("잘못된 압축 형식: 원본 길이 " + originalLength
+                    + " (압축 크기 " + (bytes.length - HEADER_LENGTH) + ")");
+        }
+        byte[] raw = new byte[originalLength];
+        try {
+            decompressor.decompress(bytes, HEADER_LENGTH, raw, 0, originalLength);
+        } catch (RuntimeException e) {
+            throw new SerializationException("LZ4 압축 해제 실패", e);
+        }
+        stats.recordDecompressed(prefix, System.nanoTime() - start);
+        return delegate.deserialize(raw);
+    }
+}
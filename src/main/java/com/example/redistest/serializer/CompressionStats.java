@@ -0,0 +1,103 @@
+package com.example.redistest.serializer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 값 압축 통계 (키 접두사별)
+ * 키 접두사는 KeyPrefixTrackingSerializer가 직전에 직렬화한 키에서 가져오고, 값 1개를 처리하면 지운다.
+ * 그래서 키 1개에 값 1개인 명령(GET/SET, 키-값이 번갈아 직렬화되는 MSET/파이프라인 SET)만 정확히 집계된다.
+ * MGET처럼 키를 모두 직렬화한 뒤 값을 읽는 명령은 첫 값이 마지막 키의 접두사로, 나머지는 (unknown)으로 집계된다.
+ */
+public class CompressionStats {
+
+    private static final int MAX_PREFIXES = 100;
+    private static final String OTHER = "(other)";
+    private static final String UNKNOWN = "(unknown)";
+    private static final ThreadLocal<String> CURRENT_PREFIX = new ThreadLocal<>();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 현재 스레드에서 처리 중인 키의 접두사 기록 (첫 번째 ':' 앞부분)
+     */
+    static void setCurrentKey(String key) {
+        if (key == null) {
+            return;
+        }
+        int separator = key.indexOf(':');
+        CURRENT_PREFIX.set(separator > 0 ? key.substring(0, separator) : "(none)");
+    }
+
+    /**
+     * 현재 스레드에 기록된 키 접두사를 꺼내고 지운다 (다음 값이 이전 키로 집계되지 않도록)
+     */
+    static String takeCurrentPrefix() {
+        String prefix = CURRENT_PREFIX.get();
+        CURRENT_PREFIX.remove();
+        return prefix != null ? prefix : UNKNOWN;
+    }
+
+    void recordCompressed(String prefix, int rawBytes, int storedBytes, long nanos) {
+        Entry entry = entry(prefix);
+        entry.compressed.increment();
+        entry.rawBytes.add(rawBytes);
+        entry.storedBytes.add(storedBytes);
+        entry.encodeNanos.add(nanos);
+    }
+
+    void recordSkipped(String prefix) {
+        entry(prefix).skipped.increment();
+    }
+
+    void recordDecompressed(String prefix, long nanos) {
+        Entry entry = entry(prefix);
+        entry.decompressed.increment();
+        entry.decodeNanos.add(nanos);
+    }
+
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        entries.forEach((prefix, entry) -> {
+            long compressed = entry.compressed.sum();
+            long decompressed = entry.decompressed.sum();
+            long rawBytes = entry.rawBytes.sum();
+
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("compressed", compressed);
+            item.put("skipped", entry.skipped.sum());
+            item.put("decompressed", decompressed);
+            item.put("rawBytes", rawBytes);
+            item.put("storedBytes", entry.storedBytes.sum());
+            item.put("ratio", rawBytes == 0 ? 1.0 : (double) entry.storedBytes.sum() / rawBytes);
+            item.put("avgEncodeMicros", compressed == 0 ? 0.0 : entry.encodeNanos.sum() / 1_000.0 / compressed);
+            item.put("avgDecodeMicros", decompressed == 0 ? 0.0 : entry.decodeNanos.sum() / 1_000.0 / decompressed);
+            result.put(prefix, item);
+        });
+        return result;
+    }
+
+    private Entry entry(String prefix) {
+        Entry entry = entries.get(prefix);
+        if (entry != null) {
+            return entry;
+        }
+        // 접두사 종류가 너무 많아지지 않도록 상한을 둔다
+        if (entries.size() >= MAX_PREFIXES) {
+            return entries.computeIfAbsent(OTHER, p -> new Entry());
+        }
+        return entries.computeIfAbsent(prefix, p -> new Entry());
+    }
+
+    private static final class Entry {
+        private final LongAdder compressed = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder decompressed = new LongAdder();
+        private final LongAdder rawBytes = new LongAdder();
+        private final LongAdder storedBytes = new LongAdder();
+        private final LongAdder encodeNanos = new LongAdder();
+        private final LongAdder decodeNanos = new LongAdder();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.redistest.serializer;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * 키 직렬화 시 키 접두사를 기록하는 StringRedisSerializer 래퍼
+ * RedisTemplate은 키를 값보다 먼저 직렬화하므로, 압축 통계를 키 접두사별로 집계할 수 있다.
+ * 기록은 다음 값 1개를 처리할 때 지워지므로 단일 키 명령만 접두사별로 집계된다. (CompressionStats 참고)
+ */
+public class KeyPrefixTrackingSerializer implements RedisSerializer<String> {
+
+    private final StringRedisSerializer delegate = StringRedisSerializer.UTF_8;
+
+    @Override
+    public byte[] serialize(String value) throws SerializationException {
+        CompressionStats.setCurrentKey(value);
+        return delegate.serialize(value);
+    }
+
+    @Override
+    public String deserialize(byte[] bytes) throws SerializationException {
+        return delegate.deserialize(bytes);
+    }
+}
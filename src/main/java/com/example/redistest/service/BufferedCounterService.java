@@ -0,0 +1,242 @@
+package com.example.redistest.service;
+
+import com.example.redistest.config.CounterBufferProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 쓰기 버퍼 카운터 (조회수, 좋아요 등 같은 키에 INCR가 몰리는 경우)
+ *
+ * 요청마다 INCR를 보내지 않고 키별 LongAdder에 증가분을 모은 뒤,
+ * flush-interval마다 INCRBY 파이프라인으로 한 번에 반영한다.
+ * - 다른 노드에서 보이기까지의 지연은 최대 flush-interval
+ * - 종료 시 남은 증가분을 반영
+ * - sync=true면 이 키에 모인 증가분과 함께 바로 INCRBY 하고 실제 값을 반환 (자기 쓰기 읽기)
+ * - 반영에 실패하면 증가분을 버퍼로 되돌려 다음 주기에 다시 보낸다 (연결 오류 시 중복 반영 가능)
+ */
+@Slf4j
+@Service
+public class BufferedCounterService implements MeterBinder {
+
+    private final RedisDataStructureService redisService;
+    private final CounterBufferProperties properties;
+
+    private final ConcurrentHashMap<String, PendingCounter> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 마지막으로 Redis에서 받은 값 (버퍼 모드 응답의 추정치 기준)
+     */
+    private final Cache<String, Long> lastKnown;
+
+    /**
+     * 아직 반영되지 않은 가장 오래된 증가분의 시각 (0: 없음)
+     */
+    private final AtomicLong oldestPendingNanos = new AtomicLong();
+
+    private final LongAdder buffered = new LongAdder();
+    private final LongAdder direct = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private DistributionSummary flushSize;
+    private Timer flushLag;
+
+    public BufferedCounterService(RedisDataStructureService redisService, CounterBufferProperties properties) {
+        this.redisService = redisService;
+        this.properties = properties;
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .build();
+    }
+
+    /**
+     * 카운터 증가
+     * 버퍼 모드가 꺼져 있거나 sync=true면 바로 INCRBY 하고 실제 값을 반환한다.
+     * 버퍼 모드에서는 마지막으로 알려진 값 + 이 노드에서 아직 반영하지 않은 증가분(추정치)을 반환한다.
+     */
+    public Long increment(String key, long delta, boolean sync) {
+        if (!properties.isEnabled()) {
+            return redisService.incrementBy(key, delta);
+        }
+        Long known = lastKnown.getIfPresent(key);
+        // 처음 보는 키는 기준값을 얻기 위해, 키 수 상한을 넘으면 메모리를 지키기 위해 바로 반영
+        if (sync || known == null || (pending.size() >= properties.getMaxKeys() && !pending.containsKey(key))) {
+            return incrementNow(key, delta);
+        }
+        add(key, delta);
+        buffered.increment();
+        return known + pendingDelta(key);
+    }
+
+    /**
+     * 이 키에 모인 증가분을 함께 반영하고 Redis의 실제 값을 반환
+     */
+    private Long incrementNow(String key, long delta) {
+        PendingCounter counter = pending.get(key);
+        long total = delta + (counter != null ? counter.delta.sumThenReset() : 0);
+        try {
+            Long result = redisService.incrementBy(key, total);
+            lastKnown.put(key, result);
+            direct.increment();
+            return result;
+        } catch (DataAccessException e) {
+            if (total != delta) {
+                add(key, total - delta); // 함께 보내려던 다른 요청의 증가분은 버퍼로 되돌린다
+            }
+            throw e;
+        }
+    }
+
+    private void add(String key, long delta) {
+        oldestPendingNanos.compareAndSet(0, System.nanoTime());
+        while (true) {
+            PendingCounter counter = pending.computeIfAbsent(key, k -> new PendingCounter());
+            counter.delta.add(delta);
+            if (!counter.retired) {
+                return;
+            }
+            // 정리 중인 카운터에 더했다면 꺼내서 새 카운터에 다시 더한다
+            delta = counter.delta.sumThenReset();
+            if (delta == 0) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private long pendingDelta(String key) {
+        PendingCounter counter = pending.get(key);
+        return counter != null ? counter.delta.sum() : 0;
+    }
+
+    /**
+     * 모아 둔 증가분을 INCRBY 파이프라인으로 반영 (flush-interval마다 실행)
+     */
+    @Scheduled(fixedDelayString = "#{@counterBufferProperties.flushInterval.toMillis()}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long oldest = oldestPendingNanos.getAndSet(0);
+
+        Map<String, Long> batch = new LinkedHashMap<>();
+        List<String> idle = new ArrayList<>();
+        pending.forEach((key, counter) -> {
+            long delta = counter.delta.sumThenReset();
+            if (delta != 0) {
+                batch.put(key, delta);
+            } else {
+                idle.add(key);
+            }
+        });
+        retireIdle(idle);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        if (oldest != 0 && flushLag != null) {
+            flushLag.record(Duration.ofNanos(System.nanoTime() - oldest));
+        }
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(batch.entrySet());
+        for (int from = 0; from < entries.size(); from += properties.getBatchSize()) {
+            List<Map.Entry<String, Long>> chunk = entries.subList(from, Math.min(from + properties.getBatchSize(), entries.size()));
+            flushChunk(chunk);
+        }
+        log.debug("카운터 버퍼 반영 - keys: {}", batch.size());
+    }
+
+    private void flushChunk(List<Map.Entry<String, Long>> chunk) {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        chunk.forEach(entry -> deltas.put(entry.getKey(), entry.getValue()));
+        try {
+            List<Long> results = redisService.multiIncrementBy(deltas);
+            int i = 0;
+            for (String key : deltas.keySet()) {
+                lastKnown.put(key, results.get(i++));
+            }
+            if (flushSize != null) {
+                flushSize.record(deltas.size());
+            }
+        } catch (DataAccessException e) {
+            flushFailures.increment();
+            deltas.forEach(this::add);
+            log.warn("카운터 버퍼 반영 실패, 다음 주기에 재시도 - keys: {}, error: {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 증가분이 없는 키는 버퍼에서 제거
+     * retired 표시 후 다시 확인해, 그 사이에 더해진 값은 add()가 새 카운터로 옮긴다.
+     */
+    private void retireIdle(List<String> idle) {
+        for (String key : idle) {
+            PendingCounter counter = pending.get(key);
+            if (counter == null) {
+                continue;
+            }
+            counter.retired = true;
+            if (counter.delta.sum() == 0) {
+                pending.remove(key, counter);
+            } else {
+                counter.retired = false;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!pending.isEmpty()) {
+            log.info("종료 전 카운터 버퍼 반영 - keys: {}", pending.size());
+            flush();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("flushIntervalMs", properties.getFlushInterval().toMillis());
+        stats.put("pendingKeys", pending.size());
+        stats.put("buffered", buffered.sum());
+        stats.put("direct", direct.sum());
+        stats.put("flushFailures", flushFailures.sum());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("counter.buffer.pending.keys", pending, Map::size).register(registry);
+        FunctionCounter.builder("counter.buffer.increments", buffered, LongAdder::sum).tag("mode", "buffered").register(registry);
+        FunctionCounter.builder("counter.buffer.increments", direct, LongAdder::sum).tag("mode", "direct").register(registry);
+        FunctionCounter.builder("counter.buffer.flush.failures", flushFailures, LongAdder::sum).register(registry);
+        flushSize = DistributionSummary.builder("counter.buffer.flush.size")
+                .description("INCRBY 파이프라인 1회당 키 수")
+                .register(registry);
+        flushLag = Timer.builder("counter.buffer.flush.lag")
+                .description("가장 오래된 증가분이 Redis에 반영되기까지 걸린 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    private static final class PendingCounter {
+        private final LongAdder delta = new LongAdder();
+        private volatile boolean retired;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.redistest.service;
+
+import com.example.redistest.config.HyperLogLogProperties;
+import com.example.redistest.config.HyperLogLogProperties.Granularity;
+import com.example.redistest.util.HllSketch;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시간 구간별 HyperLogLog 이벤트 수집
+ *
+ * 기본은 이벤트마다 구간 키들에 PFADD(파이프라인 1회)를 보낸다.
+ * app.hll.local-sketch.enabled=true면 구간 키별로 JVM 안의 HLL 스케치(Redis와 같은 해시/레지스터)에 모았다가
+ * flush-interval마다 Redis dense 형식으로 내보내 PFMERGE 한다.
+ * 초당 수만 건의 이벤트가 구간 키 수 × (1 / flush-interval) 번의 쓰기로 줄어든다.
+ */
+@Slf4j
+@Service
+public class HyperLogLogAggregator implements MeterBinder {
+
+    private final RedisDataStructureService redisService;
+    private final RedisSerializer<Object> valueSerializer;
+    private final HyperLogLogProperties properties;
+
+    /**
+     * 구간 키 → 아직 병합하지 않은 스케치 (스케치 변경은 compute 안에서만 하므로 remove 이후에는 다른 스레드가 건드리지 않는다)
+     */
+    private final ConcurrentHashMap<String, PendingSketch> sketches = new ConcurrentHashMap<>();
+
+    private final LongAdder sketchedEvents = new LongAdder();
+    private final LongAdder directEvents = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private DistributionSummary flushKeys;
+
+    @SuppressWarnings("unchecked")
+    public HyperLogLogAggregator(RedisDataStructureService redisService, RedisTemplate<String, Object> redisTemplate,
+                                 HyperLogLogProperties properties) {
+        this.redisService = redisService;
+        this.valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        this.properties = properties;
+    }
+
+    /**
+     * 이벤트 기록 (설정된 모든 단위의 현재 구간에 추가)
+     */
+    public void record(String key, List<String> values) {
+        Instant now = Instant.now();
+        HyperLogLogProperties.LocalSketch localSketch = properties.getLocalSketch();
+        int granularities = properties.getGranularities().size();
+        if (!localSketch.isEnabled() || sketches.size() + granularities > localSketch.getMaxKeys()) {
+            redisService.addToHyperLogLogBuckets(key, retentions(), now, values.toArray());
+            directEvents.add(values.size());
+            return;
+        }
+
+        // PFADD로 보낼 때와 같은 바이트를 해시해야 Redis의 레지스터와 일치한다
+        List<byte[]> rawValues = values.stream().map(valueSerializer::serialize).toList();
+        for (Granularity granularity : properties.getGranularities()) {
+            String bucketKey = RedisDataStructureService.hyperLogLogBucketKey(key, granularity, granularity.stamp(now));
+            sketches.compute(bucketKey, (k, pending) -> {
+                PendingSketch target = pending != null ? pending : new PendingSketch(granularity, new HllSketch());
+                rawValues.forEach(target.sketch()::add);
+                return target;
+            });
+        }
+        sketchedEvents.add(values.size());
+    }
+
+    /**
+     * 모아 둔 스케치를 구간 키에 병합 (flush-interval마다 실행)
+     */
+    @Scheduled(fixedDelayString = "#{@hyperLogLogProperties.localSketch.flushInterval.toMillis()}")
+    public synchronized void flush() {
+        if (sketches.isEmpty()) {
+            return;
+        }
+        int flushed = 0;
+        for (String bucketKey : new ArrayList<>(sketches.keySet())) {
+            PendingSketch pending = sketches.remove(bucketKey);
+            if (pending == null) {
+                continue;
+            }
+            try {
+                redisService.mergeHyperLogLogSketch(bucketKey, pending.sketch().toRedisDense(),
+                        properties.retentionFor(pending.granularity()));
+                flushed++;
+            } catch (DataAccessException e) {
+                flushFailures.increment();
+                // 실패한 스케치는 그 사이 새로 모인 스케치와 합쳐 다음 주기에 다시 보낸다
+                sketches.merge(bucketKey, pending, (current, failed) -> {
+                    current.sketch().merge(failed.sketch());
+                    return current;
+                });
+                log.warn("HyperLogLog 스케치 병합 실패, 다음 주기에 재시도 - key: {}, error: {}", bucketKey, e.getMessage());
+            }
+        }
+        if (flushKeys != null && flushed > 0) {
+            flushKeys.record(flushed);
+        }
+        log.debug("HyperLogLog 스케치 병합 - keys: {}", flushed);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!sketches.isEmpty()) {
+            log.info("종료 전 HyperLogLog 스케치 병합 - keys: {}", sketches.size());
+            flush();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("localSketchEnabled", properties.getLocalSketch().isEnabled());
+        stats.put("granularities", properties.getGranularities());
+        stats.put("pendingSketches", sketches.size());
+        stats.put("sketchedEvents", sketchedEvents.sum());
+        stats.put("directEvents", directEvents.sum());
+        stats.put("flushFailures", flushFailures.sum());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hll.sketch.pending", sketches, Map::size).register(registry);
+        FunctionCounter.builder("hll.events", sketchedEvents, LongAdder::sum).tag("mode", "sketch").register(registry);
+        FunctionCounter.builder("hll.events", directEvents, LongAdder::sum).tag("mode", "direct").register(registry);
+        FunctionCounter.builder("hll.sketch.flush.failures", flushFailures, LongAdder::sum).register(registry);
+        flushKeys = DistributionSummary.builder("hll.sketch.flush.keys")
+                .description("병합 1회당 PFMERGE 한 구간 키 수")
+                .register(registry);
+    }
+
+    private Map<Granularity, Duration> retentions() {
+        Map<Granularity, Duration> retentions = new EnumMap<>(Granularity.class);
+        properties.getGranularities().forEach(granularity -> retentions.put(granularity, properties.retentionFor(granularity)));
+        return retentions;
+    }
+
+    private record PendingSketch(Granularity granularity, HllSketch sketch) {
+    }
+}
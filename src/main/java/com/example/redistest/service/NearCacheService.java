@@ -0,0 +1,166 @@
+package com.example.redistest.service;
+
+import com.example.redistest.config.NearCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 니어 캐시 (L1: JVM 로컬, L2: Redis)
+ * 리전(product, string 등)마다 크기/시간 제한이 있는 Caffeine 캐시를 두고,
+ * 쓰기/삭제 시 Redis Pub/Sub으로 무효화 메시지를 보내 다른 노드의 L1 사본을 지운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NearCacheService implements MessageListener, MeterBinder {
+
+    public static final String REGION_PRODUCT = "product";
+    public static final String REGION_STRING = "string";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final NearCacheProperties properties;
+    private final RedisMetrics redisMetrics;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Cache<String, Object>> regions = new ConcurrentHashMap<>();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private volatile MeterRegistry meterRegistry;
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String region, String key) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        return (T) region(region).getIfPresent(key);
+    }
+
+    public void put(String region, String key, Object value) {
+        if (!properties.isEnabled() || value == null) {
+            return;
+        }
+        region(region).put(key, value);
+    }
+
+    /**
+     * 로컬 사본을 지우고 다른 노드에 무효화 메시지를 전파
+     */
+    public void invalidate(String region, String key) {
+        invalidateAll(region, List.of(key));
+    }
+
+    public void invalidateAll(String region, Collection<String> keys) {
+        if (!properties.isEnabled() || keys.isEmpty()) {
+            return;
+        }
+        region(region).invalidateAll(keys);
+        try {
+            String payload = objectMapper.writeValueAsString(new InvalidationMessage(nodeId, region, keys));
+            redisMetrics.run("PUBLISH", properties.getChannel(),
+                    () -> stringRedisTemplate.convertAndSend(properties.getChannel(), payload));
+            published.increment();
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("니어 캐시 무효화 메시지 전송 실패 - region: {}, error: {}", region, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            InvalidationMessage invalidation = objectMapper.readValue(message.getBody(), InvalidationMessage.class);
+            if (nodeId.equals(invalidation.origin())) {
+                return; // 자기 자신이 보낸 메시지는 이미 로컬에서 처리됨
+            }
+            received.increment();
+            region(invalidation.region()).invalidateAll(invalidation.keys());
+            log.debug("니어 캐시 무효화 수신 - region: {}, keys: {}", invalidation.region(), invalidation.keys().size());
+        } catch (IOException e) {
+            log.warn("니어 캐시 무효화 메시지 파싱 실패: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("nodeId", nodeId);
+        stats.put("invalidationsPublished", published.sum());
+        stats.put("invalidationsReceived", received.sum());
+
+        Map<String, Object> regionStats = new LinkedHashMap<>();
+        regions.forEach((name, cache) -> {
+            CacheStats cacheStats = cache.stats();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("size", cache.estimatedSize());
+            item.put("hits", cacheStats.hitCount());
+            item.put("misses", cacheStats.missCount());
+            item.put("hitRate", cacheStats.hitRate());
+            item.put("evictions", cacheStats.evictionCount());
+            regionStats.put(name, item);
+        });
+        stats.put("regions", regionStats);
+        return stats;
+    }
+
+    /**
+     * 리전별 Caffeine 통계(cache.gets 등, cache=near:<리전>)와 무효화 메시지 수를 노출
+     * 리전은 처음 사용될 때 만들어지므로 이후 생성되는 리전도 등록한다.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("near.cache.invalidations", published, LongAdder::sum)
+                .tag("direction", "published").register(registry);
+        FunctionCounter.builder("near.cache.invalidations", received, LongAdder::sum)
+                .tag("direction", "received").register(registry);
+        this.meterRegistry = registry;
+        regions.forEach((name, cache) -> monitor(registry, name, cache));
+    }
+
+    private Cache<String, Object> region(String name) {
+        return regions.computeIfAbsent(name, n -> {
+            Cache<String, Object> cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaximumSize())
+                    .expireAfterWrite(properties.getExpireAfterWrite())
+                    .recordStats()
+                    .build();
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                monitor(registry, n, cache);
+            }
+            return cache;
+        });
+    }
+
+    private static void monitor(MeterRegistry registry, String name, Cache<String, Object> cache) {
+        CaffeineCacheMetrics.monitor(registry, cache, "near:" + name);
+    }
+
+    /**
+     * 노드 간 무효화 메시지 (origin: 보낸 노드 ID)
+     */
+    public record InvalidationMessage(String origin, String region, Collection<String> keys) {
+    }
+}
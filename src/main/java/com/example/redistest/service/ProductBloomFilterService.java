@@ -0,0 +1,465 @@
+package com.example.redistest.service;
+
+import com.example.redistest.config.ProductBloomFilterProperties;
+import com.example.redistest.repository.ProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 상품 id 블룸 필터 (Redis 비트맵)
+ *
+ * 존재하는 상품 id마다 k개의 비트를 SETBIT 해 두고, 조회 시 k개 비트를 Lua 스크립트 1회(EVALSHA)로 확인한다.
+ * 하나라도 0이면 그 id는 확실히 없으므로 DB를 조회하지 않고 404를 반환한다.
+ * 모두 1이어도 삭제된 상품이거나 오탐일 수 있으므로 그때는 평소처럼 DB에서 확인한다.
+ *
+ * - 비트맵이 없거나 Redis 오류가 나면 "있을 수 있음"으로 처리한다 (존재하는 상품을 404로 만들지 않음).
+ * - 삭제된 id는 비트를 지울 수 없으므로 rebuild-cron마다 임시 키에 새로 채워 RENAME으로 교체한다.
+ * - 재구축 중에는 임시 키가 있으므로 새 상품 id를 현재 키와 임시 키 양쪽에 쓴다 (어느 노드에서 생성되든 같은 스크립트로 반영).
+ * - 추가에 실패하면 그 id가 거절되지 않도록 필터 키를 지우고(모든 노드가 "있을 수 있음"으로 동작) 재구축을 요청한다.
+ *   키를 지우지 못했을 때를 위해 이 노드는 재구축이 끝날 때까지 실패한 id를 따로 기억해 통과시킨다.
+ */
+@Slf4j
+@Service
+public class ProductBloomFilterService implements MeterBinder {
+
+    /**
+     * 모든 비트가 1이거나 필터가 아직 없으면 1, 하나라도 0이면 0
+     * 조회마다 파이프라인 전용 연결을 빌리지 않고 공유 연결에서 명령 1번으로 끝낸다.
+     */
+    private static final RedisScript<Long> CONTAINS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 0 then return 1 end "
+                    + "for i = 1, #ARGV do "
+                    + "if redis.call('getbit', KEYS[1], ARGV[i]) == 0 then return 0 end "
+                    + "end "
+                    + "return 1",
+            Long.class);
+
+    /**
+     * 현재 키(KEYS[1])가 있으면 현재 키에, 재구축 임시 키(KEYS[2])가 있으면 임시 키에도 SETBIT
+     * 아직 채워지지 않은 현재 키를 일부 비트만으로 만들면 나머지 상품이 모두 거절되므로 없는 키는 만들지 않는다.
+     */
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+            "local built = redis.call('exists', KEYS[1]) == 1 "
+                    + "local building = redis.call('exists', KEYS[2]) == 1 "
+                    + "for i = 1, #ARGV do "
+                    + "if built then redis.call('setbit', KEYS[1], ARGV[i], 1) end "
+                    + "if building then redis.call('setbit', KEYS[2], ARGV[i], 1) end "
+                    + "end "
+                    + "return #ARGV",
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ProductBloomFilterProperties properties;
+    private final RedisMetrics redisMetrics;
+
+    /**
+     * 비트 수 (m)
+     */
+    private final long bits;
+
+    /**
+     * 해시 함수 수 (k)
+     */
+    private final int hashes;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // 재구축 중에 다시 요청되면 끝난 뒤 한 번 더 재구축 (진행 중인 스캔이 놓친 id 반영)
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    // 필터에 넣지 못한 id (재구축으로 반영될 때까지 이 노드에서는 항상 통과)
+    private final Set<Long> unconfirmedIds = ConcurrentHashMap.newKeySet();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-bloom-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    /**
+     * 마지막으로 계산한 오탐률 추정치 (BITCOUNT 기준, 통계 조회/재구축 시 갱신)
+     */
+    private volatile double estimatedFalsePositiveRate;
+
+    public ProductBloomFilterService(StringRedisTemplate stringRedisTemplate, ProductRepository productRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ProductBloomFilterProperties properties, RedisMetrics redisMetrics) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.redisMetrics = redisMetrics;
+
+        this.bits = optimalBits(properties.getExpectedInsertions(), properties.getFalsePositiveRate());
+        this.hashes = optimalHashes(bits, properties.getExpectedInsertions());
+        if (bits > (1L << 32)) {
+            throw new IllegalStateException("블룸 필터 비트 수가 Redis 비트맵 최대 크기(2^32)를 넘습니다: " + bits);
+        }
+    }
+
+    /**
+     * 비트 수 m = -n·ln(p) / (ln2)² (최소 64)
+     */
+    static long optimalBits(long expectedInsertions, double falsePositiveRate) {
+        double n = Math.max(1, expectedInsertions);
+        return Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+    }
+
+    /**
+     * 해시 함수 수 k = m/n · ln2 (최소 1)
+     */
+    static int optimalHashes(long bits, long expectedInsertions) {
+        double n = Math.max(1, expectedInsertions);
+        return Math.max(1, (int) Math.round(bits / n * Math.log(2)));
+    }
+
+    /**
+     * 상품이 있을 수 있으면 true, 확실히 없으면 false
+     */
+    public boolean mightContain(Long id) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        if (unconfirmedIds.contains(id)) {
+            passed.increment();
+            return true;
+        }
+        String key = key();
+        try {
+            long[] offsets = offsets(id);
+            String[] args = new String[offsets.length];
+            for (int i = 0; i < offsets.length; i++) {
+                args[i] = Long.toString(offsets[i]);
+            }
+            Long result = redisMetrics.record("EVALSHA", key,
+                    () -> stringRedisTemplate.execute(CONTAINS_SCRIPT, List.of(key), (Object[]) args));
+            if (result != null && result == 0) {
+                rejected.increment();
+                log.debug("블룸 필터 거절 - id: {}", id);
+                return false;
+            }
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("블룸 필터 조회 실패 - id: {}, error: {}", id, e.getMessage());
+        }
+        passed.increment();
+        return true;
+    }
+
+    /**
+     * 필터를 통과했지만 DB에 없던 조회 (삭제된 상품 또는 오탐)
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * 트랜잭션 커밋 이후에 id 추가 (롤백된 id는 넣지 않는다)
+     */
+    public void addAfterCommit(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(List.of(id));
+                }
+            });
+        } else {
+            add(List.of(id));
+        }
+    }
+
+    /**
+     * id 추가 (Lua 스크립트 1회, 재구축 중이면 임시 키에도 기록)
+     */
+    public void add(Collection<Long> ids) {
+        if (!properties.isEnabled() || ids.isEmpty()) {
+            return;
+        }
+        String key = key();
+        List<String> args = new ArrayList<>(ids.size() * hashes);
+        for (Long id : ids) {
+            for (long offset : offsets(id)) {
+                args.add(Long.toString(offset));
+            }
+        }
+        try {
+            redisMetrics.record("EVALSHA", key, () -> stringRedisTemplate.execute(
+                    ADD_SCRIPT, List.of(key, tempKey()), args.toArray()));
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("블룸 필터 추가 실패, 필터를 비우고 재구축합니다. - ids: {}, error: {}", ids.size(), e.getMessage());
+            failOpen(ids);
+        }
+    }
+
+    /**
+     * 추가하지 못한 id가 거절되지 않게 한다
+     * 필터 키를 지우면 CONTAINS_SCRIPT가 모든 노드에서 1을 반환하고, 재구축이 다시 채운다.
+     */
+    private void failOpen(Collection<Long> ids) {
+        unconfirmedIds.addAll(ids);
+        try {
+            redisMetrics.record("DEL", key(), () -> stringRedisTemplate.delete(key()));
+        } catch (DataAccessException e) {
+            log.warn("블룸 필터 삭제 실패 - error: {}", e.getMessage());
+        }
+        rebuildPending.set(true);
+        requestRebuild();
+    }
+
+    private void setBits(String key, Collection<Long> ids) {
+        redisMetrics.run("PIPELINE:SETBIT", key, () -> stringRedisTemplate.executePipelined(
+                (RedisCallback<Object>) connection -> {
+                    byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                    for (Long id : ids) {
+                        for (long offset : offsets(id)) {
+                            connection.stringCommands().setBit(rawKey, offset, true);
+                        }
+                    }
+                    return null;
+                }));
+    }
+
+    /**
+     * id의 k개 비트 위치 (64비트 혼합 해시를 둘로 나눈 이중 해싱: h1 + i·h2)
+     */
+    long[] offsets(long id) {
+        long hash = mix64(id);
+        long h1 = (int) hash;
+        long h2 = (int) (hash >>> 32);
+        long[] offsets = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            offsets[i] = Math.floorMod(h1 + i * h2, bits);
+        }
+        return offsets;
+    }
+
+    private static long mix64(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    // ==================== 재구축 ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(redisMetrics.record("EXISTS", key(), () -> stringRedisTemplate.hasKey(key())))) {
+                log.info("상품 블룸 필터가 없어 재구축을 시작합니다. - bits: {}, hashes: {}", bits, hashes);
+                requestRebuild();
+            }
+        } catch (DataAccessException e) {
+            log.warn("상품 블룸 필터 확인 실패 - error: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.product-bloom.rebuild-cron:0 30 4 * * *}")
+    public void scheduledRebuild() {
+        if (properties.isEnabled()) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * 백그라운드 전체 재구축 요청 (이미 진행 중이면 false)
+     */
+    public boolean requestRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        rebuildExecutor.submit(() -> {
+            try {
+                do {
+                    rebuildPending.set(false);
+                    rebuild();
+                } while (rebuildPending.get());
+            } catch (RuntimeException e) {
+                log.error("상품 블룸 필터 재구축 실패", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void rebuild() {
+        String leaseKey = properties.getKeyPrefix() + ":rebuild:lease";
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisMetrics.record("SETNX", leaseKey, () -> stringRedisTemplate.opsForValue()
+                .setIfAbsent(leaseKey, token, properties.getRebuildLeaseTtl()));
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.info("다른 노드에서 상품 블룸 필터를 재구축 중입니다.");
+            return;
+        }
+        String key = key();
+        String tempKey = tempKey();
+        boolean renamed = false;
+        // 스캔 시작 전에 기억한 id는 이미 커밋됐으므로 이번 재구축에 반드시 포함된다
+        List<Long> covered = new ArrayList<>(unconfirmedIds);
+        try {
+            log.info("상품 블룸 필터 재구축 시작 - bits: {}, hashes: {}", bits, hashes);
+            redisMetrics.record("DEL", tempKey, () -> stringRedisTemplate.delete(tempKey));
+            // 마지막 비트를 먼저 써서 비트맵을 한 번에 할당하고, 상품이 없어도 RENAME 할 키가 있게 한다
+            // 이 시점부터 add()가 임시 키에도 쓰므로, 스캔이 지나간 뒤에 커밋된 낮은 id(IDENTITY 커밋 순서 역전)도 빠지지 않는다
+            redisMetrics.record("SETBIT", tempKey, () -> stringRedisTemplate.opsForValue().setBit(tempKey, bits - 1, false));
+
+            Long count = readOnlyTransaction.execute(status -> fill(tempKey));
+            redisMetrics.run("RENAME", key, () -> stringRedisTemplate.rename(tempKey, key));
+            renamed = true;
+            unconfirmedIds.removeAll(covered);
+
+            rebuilds.increment();
+            estimatedFalsePositiveRate = estimate(bitCount())[1];
+            log.info("상품 블룸 필터 재구축 완료 - products: {}, estimatedFalsePositiveRate: {}", count, estimatedFalsePositiveRate);
+        } finally {
+            if (!renamed) {
+                // 남은 임시 키가 있으면 add()가 계속 이중으로 쓰므로 지운다
+                redisMetrics.record("DEL", tempKey, () -> stringRedisTemplate.delete(tempKey));
+            }
+            redisMetrics.record("EVALSHA", leaseKey,
+                    () -> stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token));
+        }
+    }
+
+    /**
+     * 전체 상품 id를 id 순으로 읽어 rebuildBatchSize개씩 반영
+     */
+    private long fill(String target) {
+        long count = 0;
+        List<Long> batch = new ArrayList<>(properties.getRebuildBatchSize());
+        try (Stream<Long> ids = productRepository.streamIdsAfter(0L)) {
+            for (Long id : (Iterable<Long>) ids::iterator) {
+                batch.add(id);
+                if (batch.size() >= properties.getRebuildBatchSize()) {
+                    setBits(target, batch);
+                    count += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            setBits(target, batch);
+        }
+        return count + batch.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // ==================== 통계 ====================
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("key", key());
+        stats.put("bits", bits);
+        stats.put("hashes", hashes);
+        stats.put("expectedInsertions", properties.getExpectedInsertions());
+        stats.put("targetFalsePositiveRate", properties.getFalsePositiveRate());
+        try {
+            long bitsSet = bitCount();
+            double[] estimate = estimate(bitsSet);
+            estimatedFalsePositiveRate = estimate[1];
+            stats.put("bitsSet", bitsSet);
+            stats.put("fillRatio", (double) bitsSet / bits);
+            stats.put("estimatedInsertions", Math.round(estimate[0]));
+            stats.put("estimatedFalsePositiveRate", estimate[1]);
+        } catch (DataAccessException e) {
+            stats.put("error", e.getMessage());
+        }
+        stats.put("rebuilding", rebuilding.get());
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("unconfirmedIds", unconfirmedIds.size());
+        stats.put("rejected", rejected.sum());
+        stats.put("passed", passed.sum());
+        stats.put("falsePositives", falsePositives.sum());
+        stats.put("errors", errors.sum());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("product.bloom.lookups", rejected, LongAdder::sum).tag("result", "rejected").register(registry);
+        FunctionCounter.builder("product.bloom.lookups", passed, LongAdder::sum).tag("result", "passed").register(registry);
+        FunctionCounter.builder("product.bloom.false.positives", falsePositives, LongAdder::sum).register(registry);
+        FunctionCounter.builder("product.bloom.errors", errors, LongAdder::sum).register(registry);
+        Gauge.builder("product.bloom.estimated.fpp", this, service -> service.estimatedFalsePositiveRate)
+                .description("마지막으로 계산한 오탐률 추정치")
+                .register(registry);
+    }
+
+    private long bitCount() {
+        String key = key();
+        Long count = redisMetrics.record("BITCOUNT", key, () -> stringRedisTemplate.execute(
+                (RedisCallback<Long>) connection -> connection.stringCommands().bitCount(key.getBytes(StandardCharsets.UTF_8))));
+        return count != null ? count : 0;
+    }
+
+    /**
+     * 켜진 비트 수로 추정한 [삽입 수, 오탐률]
+     * 삽입 수 n ≈ -(m/k)·ln(1 - X/m), 오탐률 ≈ (X/m)^k
+     */
+    private double[] estimate(long bitsSet) {
+        double fill = (double) bitsSet / bits;
+        double insertions = fill >= 1 ? Double.POSITIVE_INFINITY : -((double) bits / hashes) * Math.log(1 - fill);
+        return new double[]{insertions, Math.pow(fill, hashes)};
+    }
+
+    private String key() {
+        return properties.getKeyPrefix() + ":m" + bits + ":k" + hashes;
+    }
+
+    private String tempKey() {
+        return key() + ":rebuild";
+    }
+}
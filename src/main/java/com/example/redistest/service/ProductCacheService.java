@@ -0,0 +1,267 @@
+package com.example.redistest.service;
+
+import com.example.redistest.config.ProductCacheProperties;
+import com.example.redistest.entity.Product;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상품 캐시 (Cache-Aside)
+ * 조회 시 로컬(L1) → Redis(L2) 순으로 확인하고, 없으면 호출자가 DB에서 읽어 채워 넣는다.
+ * Redis 장애 시에는 예외를 삼키고 DB 조회로 우회한다.
+ */
+@Slf4j
+@Service
+public class ProductCacheService implements MeterBinder {
+
+    private final RedisTemplate<String, Product> productRedisTemplate;
+    private final ProductCacheProperties properties;
+    private final NearCacheService nearCacheService;
+    private final RedisMetrics redisMetrics;
+    private final RedisSerializer<String> keySerializer;
+    private final RedisSerializer<Product> valueSerializer;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ProductCacheService(RedisTemplate<String, Product> productRedisTemplate, ProductCacheProperties properties,
+                               NearCacheService nearCacheService, RedisMetrics redisMetrics) {
+        this.productRedisTemplate = productRedisTemplate;
+        this.properties = properties;
+        this.nearCacheService = nearCacheService;
+        this.redisMetrics = redisMetrics;
+        this.keySerializer = (RedisSerializer<String>) productRedisTemplate.getKeySerializer();
+        this.valueSerializer = (RedisSerializer<Product>) productRedisTemplate.getValueSerializer();
+    }
+
+    public Optional<Product> get(Long id) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        Product local = nearCacheService.get(NearCacheService.REGION_PRODUCT, key(id));
+        if (local != null) {
+            hits.increment();
+            return Optional.of(local);
+        }
+        try {
+            Product cached = redisMetrics.record("GET", key(id), () -> productRedisTemplate.opsForValue().get(key(id)));
+            if (cached != null) {
+                nearCacheService.put(NearCacheService.REGION_PRODUCT, key(id), cached);
+                hits.increment();
+                log.debug("상품 캐시 히트 - id: {}", id);
+                return Optional.of(cached);
+            }
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("상품 캐시 조회 실패 - id: {}, error: {}", id, e.getMessage());
+        }
+        misses.increment();
+        log.debug("상품 캐시 미스 - id: {}", id);
+        return Optional.empty();
+    }
+
+    /**
+     * 여러 상품을 한 번에 조회 (로컬(L1)에 없는 id만 MGET 1회)
+     * @return id → 상품 (캐시에 없는 id는 포함하지 않음)
+     */
+    public Map<Long, Product> getAll(Collection<Long> ids) {
+        Map<Long, Product> found = new HashMap<>();
+        if (!properties.isEnabled() || ids.isEmpty()) {
+            return found;
+        }
+        List<Long> remoteIds = new ArrayList<>();
+        for (Long id : ids) {
+            Product local = nearCacheService.get(NearCacheService.REGION_PRODUCT, key(id));
+            if (local != null) {
+                found.put(id, local);
+            } else {
+                remoteIds.add(id);
+            }
+        }
+        if (!remoteIds.isEmpty()) {
+            List<String> keys = remoteIds.stream().map(this::key).toList();
+            try {
+                List<Product> cached = redisMetrics.record("MGET", keys.get(0),
+                        () -> productRedisTemplate.opsForValue().multiGet(keys));
+                for (int i = 0; cached != null && i < remoteIds.size(); i++) {
+                    Product product = cached.get(i);
+                    if (product != null) {
+                        found.put(remoteIds.get(i), product);
+                        nearCacheService.put(NearCacheService.REGION_PRODUCT, keys.get(i), product);
+                    }
+                }
+            } catch (DataAccessException e) {
+                errors.increment();
+                log.warn("상품 캐시 다중 조회 실패 - ids: {}, error: {}", remoteIds.size(), e.getMessage());
+            }
+        }
+        hits.add(found.size());
+        misses.add(ids.size() - found.size());
+        log.debug("상품 캐시 다중 조회 - ids: {}, hits: {}", ids.size(), found.size());
+        return found;
+    }
+
+    /**
+     * 통계를 남기지 않는 Redis 조회 (리스 대기 중 폴링용)
+     */
+    public Optional<Product> peek(Long id) {
+        try {
+            Product cached = redisMetrics.record("GET", key(id), () -> productRedisTemplate.opsForValue().get(key(id)));
+            if (cached != null) {
+                nearCacheService.put(NearCacheService.REGION_PRODUCT, key(id), cached);
+            }
+            return Optional.ofNullable(cached);
+        } catch (DataAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    public void put(Product product) {
+        if (!properties.isEnabled() || product.getId() == null) {
+            return;
+        }
+        try {
+            long ttlMillis = ttlMillis();
+            redisMetrics.run("SETEX", key(product.getId()), () -> productRedisTemplate.opsForValue()
+                    .set(key(product.getId()), product, ttlMillis, TimeUnit.MILLISECONDS));
+            nearCacheService.put(NearCacheService.REGION_PRODUCT, key(product.getId()), product);
+            puts.increment();
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("상품 캐시 저장 실패 - id: {}, error: {}", product.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 여러 상품을 한 번에 저장 (키마다 지터를 더한 SET PX를 파이프라인으로 전송)
+     */
+    public void putAll(Collection<Product> products) {
+        if (!properties.isEnabled() || products.isEmpty()) {
+            return;
+        }
+        try {
+            redisMetrics.run("PIPELINE:SETEX", properties.getKeyPrefix(), () -> productRedisTemplate.executePipelined(
+                    (RedisCallback<Object>) connection -> {
+                        for (Product product : products) {
+                            connection.stringCommands().set(keySerializer.serialize(key(product.getId())),
+                                    valueSerializer.serialize(product), Expiration.milliseconds(ttlMillis()),
+                                    RedisStringCommands.SetOption.upsert());
+                        }
+                        return null;
+                    }));
+            products.forEach(product -> nearCacheService.put(NearCacheService.REGION_PRODUCT, key(product.getId()), product));
+            puts.add(products.size());
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("상품 캐시 다중 저장 실패 - count: {}, error: {}", products.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 변경된 상품을 한 번에 저장하고 다른 노드의 로컬 사본은 무효화
+     */
+    public void replaceAll(Collection<Product> products) {
+        putAll(products);
+        if (properties.isEnabled() && !products.isEmpty()) {
+            nearCacheService.invalidateAll(NearCacheService.REGION_PRODUCT,
+                    products.stream().map(product -> key(product.getId())).toList());
+        }
+    }
+
+    public void evict(Long id) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            redisMetrics.record("DEL", key(id), () -> productRedisTemplate.delete(key(id)));
+            evictions.increment();
+            log.debug("상품 캐시 삭제 - id: {}", id);
+        } catch (DataAccessException e) {
+            errors.increment();
+            log.warn("상품 캐시 삭제 실패 - id: {}, error: {}", id, e.getMessage());
+        }
+        nearCacheService.invalidate(NearCacheService.REGION_PRODUCT, key(id));
+    }
+
+    /**
+     * 트랜잭션 커밋 이후에 캐시를 삭제
+     * 커밋 전에 지우면 다른 요청이 이전 값을 다시 캐시에 채울 수 있다.
+     */
+    public void evictAfterCommit(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id);
+                }
+            });
+        } else {
+            evict(id);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("puts", puts.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("errors", errors.sum());
+        stats.put("ttlSeconds", properties.getTtl().toSeconds());
+        return stats;
+    }
+
+    /**
+     * 히트/미스 등 통계를 Micrometer 카운터로 노출 (product.cache.requests, product.cache.operations)
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("product.cache.requests", hits, LongAdder::sum).tag("result", "hit").register(registry);
+        FunctionCounter.builder("product.cache.requests", misses, LongAdder::sum).tag("result", "miss").register(registry);
+        FunctionCounter.builder("product.cache.operations", puts, LongAdder::sum).tag("operation", "put").register(registry);
+        FunctionCounter.builder("product.cache.operations", evictions, LongAdder::sum).tag("operation", "evict").register(registry);
+        FunctionCounter.builder("product.cache.operations", errors, LongAdder::sum).tag("operation", "error").register(registry);
+    }
+
+    String key(Long id) {
+        return properties.getKeyPrefix() + id;
+    }
+
+    long ttlMillis() {
+        long ttl = properties.getTtl().toMillis();
+        long jitter = properties.getTtlJitter().toMillis();
+        return jitter > 0 ? ttl + ThreadLocalRandom.current().nextLong(jitter) : ttl;
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.redistest.service;
+
+import com.example.redistest.config.ProductImportProperties;
+import com.example.redistest.dto.ProductImportRequest;
+import com.example.redistest.dto.ProductImportResult;
+import com.example.redistest.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 일괄 가져오기 (생성/덮어쓰기)
+ *
+ * Product는 IDENTITY 키를 쓰므로 Hibernate가 INSERT를 배치로 묶지 못한다.
+ * 그래서 JDBC 배치(rewriteBatchedStatements=true로 다중 행 INSERT 1개로 재작성)로 직접 쓰고,
+ * 배치마다 트랜잭션 1개, 캐시/검색 인덱스/블룸 필터는 커밋 후 배치마다 파이프라인 1회씩 반영한다.
+ * 이전 값도 JDBC로 읽어 엔티티를 만들지 않으므로 행 수와 관계없이 메모리가 일정하다.
+ * Hibernate를 거치지 않으므로 배치가 커밋될 때마다 덮어쓴 상품을 2차 캐시에서 지우고 products 쿼리 캐시를 무효화한다.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    // 쿼리 캐시 무효화 대상 (Hibernate 쿼리 공간 = 테이블 이름)
+    private static final String[] QUERY_SPACES = {"products"};
+
+    private static final String INSERT_SQL = "INSERT INTO products "
+            + "(name, description, price, stock, category, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // id를 지정한 행: 있으면 덮어쓰고(created_at 유지) 없으면 그 id로 생성
+    private static final String UPSERT_SQL = "INSERT INTO products "
+            + "(id, name, description, price, stock, category, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE name = VALUES(name), description = VALUES(description), price = VALUES(price), "
+            + "stock = VALUES(stock), category = VALUES(category), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCacheService productCacheService;
+    private final ProductIndexService productIndexService;
+    private final ProductBloomFilterService productBloomFilterService;
+    private final ProductImportProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ProductImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                ProductCacheService productCacheService,
+                                ProductIndexService productIndexService,
+                                ProductBloomFilterService productBloomFilterService,
+                                ProductImportProperties properties, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productCacheService = productCacheService;
+        this.productIndexService = productIndexService;
+        this.productBloomFilterService = productBloomFilterService;
+        this.properties = properties;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * 행을 하나씩 읽으며 batchSize개씩 저장 (요청 본문 전체를 메모리에 올리지 않는다)
+     * 검증에 실패한 행은 건너뛰고, 본문을 더 읽을 수 없으면 그때까지 읽은 행만 저장하고 멈춘다.
+     */
+    public ProductImportResult importProducts(Iterator<ProductImportRequest> rows, int batchSize) {
+        long startNanos = System.nanoTime();
+        ProductImportResult result = new ProductImportResult();
+        result.setBatchSize(batchSize);
+        List<ProductImportRequest> batch = new ArrayList<>(batchSize);
+        long row = 0;
+        while (true) {
+            ProductImportRequest request;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                request = rows.next();
+            } catch (RuntimeException e) {
+                // 잘못된 JSON 등으로 다음 행을 읽을 수 없음
+                skip(result, row + 1, "본문을 읽을 수 없어 가져오기를 멈춥니다: " + e.getMessage());
+                break;
+            }
+            row++;
+            String error = validate(request);
+            if (error != null) {
+                skip(result, row, error);
+                continue;
+            }
+            batch.add(request);
+            if (batch.size() >= batchSize) {
+                writeBatch(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, result);
+        }
+        result.setRows(row);
+        result.setTotalMillis((System.nanoTime() - startNanos) / 1_000_000.0);
+        log.info("상품 일괄 가져오기 완료 - rows: {}, inserted: {}, updated: {}, skipped: {}, batches: {}, {}ms",
+                row, result.getInserted(), result.getUpdated(), result.getSkipped(), result.getBatches(),
+                String.format("%.1f", result.getTotalMillis()));
+        return result;
+    }
+
+    /**
+     * JDBC로 직접 쓴 변경은 Hibernate가 모르므로 배치가 커밋되면 바로 2차 캐시에 반영한다
+     * 가져오기가 끝날 때까지 기다리면 그동안 다른 요청이 이전 값을 읽는다.
+     * - 엔티티 캐시: 덮어쓴 상품 id만 지운다 (새 상품은 캐시에 없었다)
+     * - 쿼리 캐시: JPA 쓰기와 같이 products 타임스탬프를 갱신해 그 전에 캐시한 결과를 버리게 한다
+     *   (리전을 비우면 배치마다 SCAN이 돌지만 타임스탬프 갱신은 SET 1회)
+     */
+    private void evictSecondLevelCache(List<Product> replaced) {
+        for (Product product : replaced) {
+            entityManagerFactory.getCache().evict(Product.class, product.getId());
+        }
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        try (Session session = sessionFactory.openSession()) {
+            sessionFactory.getCache().getTimestampsCache()
+                    .invalidate(QUERY_SPACES, session.unwrap(SharedSessionContractImplementor.class));
+        }
+    }
+
+    public int resolveBatchSize(Integer requested) {
+        int batchSize = requested != null ? requested : properties.getBatchSize();
+        if (batchSize <= 0 || batchSize > properties.getMaxBatchSize()) {
+            throw new IllegalArgumentException("batchSize는 1~" + properties.getMaxBatchSize() + " 사이여야 합니다.");
+        }
+        return batchSize;
+    }
+
+    /**
+     * 배치 1개 저장 (트랜잭션 1개) 후 캐시/인덱스/블룸 필터 반영
+     */
+    private void writeBatch(List<ProductImportRequest> batch, ProductImportResult result) {
+        LocalDateTime now = LocalDateTime.now();
+        BatchOutcome outcome = transactionTemplate.execute(status -> {
+            List<Long> ids = batch.stream().map(ProductImportRequest::getId).filter(id -> id != null).toList();
+            Map<Long, Product> existing = findExisting(ids);
+            List<ProductIndexService.Entry> before = existing.values().stream().map(ProductIndexService.Entry::of).toList();
+
+            List<Product> upserts = new ArrayList<>();
+            List<Product> inserts = new ArrayList<>();
+            for (ProductImportRequest request : batch) {
+                Product current = request.getId() != null ? existing.get(request.getId()) : null;
+                Product product = toProduct(request, current != null ? current.getCreatedAt() : now, now);
+                (request.getId() != null ? upserts : inserts).add(product);
+            }
+
+            if (!upserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, upserts, upserts.size(), (ps, product) -> {
+                    ps.setLong(1, product.getId());
+                    bind(ps, 2, product);
+                });
+            }
+            if (!inserts.isEmpty()) {
+                insertWithGeneratedKeys(inserts);
+            }
+            return new BatchOutcome(existing, before, upserts, inserts);
+        });
+
+        List<Product> created = new ArrayList<>(outcome.inserts());
+        List<Product> replaced = new ArrayList<>();
+        for (Product product : outcome.upserts()) {
+            (outcome.existing().containsKey(product.getId()) ? replaced : created).add(product);
+        }
+        evictSecondLevelCache(replaced);
+        productCacheService.putAll(created);
+        productCacheService.replaceAll(replaced);
+        List<Product> written = new ArrayList<>(outcome.upserts());
+        written.addAll(outcome.inserts());
+        productIndexService.syncBatch(outcome.before(), written.stream().map(ProductIndexService.Entry::of).toList());
+        productBloomFilterService.add(created.stream().map(Product::getId).toList());
+
+        result.setInserted(result.getInserted() + created.size());
+        result.setUpdated(result.getUpdated() + replaced.size());
+        result.setBatches(result.getBatches() + 1);
+        log.debug("상품 가져오기 배치 저장 - rows: {}, inserted: {}, updated: {}", batch.size(), created.size(), replaced.size());
+    }
+
+    /**
+     * 덮어쓸 상품의 이전 값 (인덱스에서 지울 값과 created_at)
+     * JPA로 읽으면 엔티티가 요청 내내(open-in-view) 영속성 컨텍스트에 남고 2차 캐시에도 들어가므로 JDBC로 읽는다.
+     */
+    private Map<Long, Product> findExisting(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        List<Product> rows = jdbcTemplate.query(
+                "SELECT id, name, price, category, created_at FROM products WHERE id IN (" + placeholders + ")",
+                (rs, rowNum) -> {
+                    Product product = new Product();
+                    product.setId(rs.getLong("id"));
+                    product.setName(rs.getString("name"));
+                    product.setPrice(rs.getBigDecimal("price"));
+                    product.setCategory(rs.getString("category"));
+                    product.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+                    return product;
+                }, ids.toArray());
+        return rows.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    /**
+     * 다중 행 INSERT 1개로 재작성된 배치에서 생성된 id를 받아 순서대로 채운다
+     */
+    private void insertWithGeneratedKeys(List<Product> inserts) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, 1, inserts.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts.size();
+                    }
+                }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != inserts.size()) {
+            // id를 모르면 캐시/블룸 필터에 반영할 수 없으므로 배치를 되돌린다
+            throw new IllegalStateException("생성된 id 수가 행 수와 다릅니다: " + keys.size() + " / " + inserts.size());
+        }
+        for (int i = 0; i < inserts.size(); i++) {
+            inserts.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    private static void bind(PreparedStatement ps, int index, Product product) throws SQLException {
+        ps.setString(index, product.getName());
+        ps.setString(index + 1, product.getDescription());
+        ps.setBigDecimal(index + 2, product.getPrice());
+        ps.setInt(index + 3, product.getStock());
+        ps.setString(index + 4, product.getCategory());
+        ps.setTimestamp(index + 5, Timestamp.valueOf(product.getCreatedAt()));
+        ps.setTimestamp(index + 6, Timestamp.valueOf(product.getUpdatedAt()));
+    }
+
+    private static Product toProduct(ProductImportRequest request, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        Product product = new Product();
+        product.setId(request.getId());
+        product.setName(request.getName());
+        product.setDescription(request.getDescription());
+        product.setPrice(request.getPrice());
+        product.setStock(request.getStock() != null ? request.getStock() : 0);
+        product.setCategory(request.getCategory());
+        product.setCreatedAt(createdAt);
+        product.setUpdatedAt(updatedAt);
+        return product;
+    }
+
+    private static String validate(ProductImportRequest request) {
+        if (request == null) {
+            return "빈 행입니다.";
+        }
+        if (request.getId() != null && request.getId() <= 0) {
+            return "id는 1 이상이어야 합니다.";
+        }
+        if (request.getName() == null || request.getName().isBlank() || request.getName().length() > 100) {
+            return "name은 1~100자여야 합니다.";
+        }
+        if (request.getPrice() == null || request.getPrice().signum() < 0) {
+            return "price는 0 이상이어야 합니다.";
+        }
+        if (request.getDescription() != null && request.getDescription().length() > 500) {
+            return "description은 500자 이하여야 합니다.";
+        }
+        if (request.getCategory() != null && request.getCategory().length() > 50) {
+            return "category는 50자 이하여야 합니다.";
+        }
+        return null;
+    }
+
+    private void skip(ProductImportResult result, long row, String error) {
+        result.setSkipped(result.getSkipped() + 1);
+        if (result.getErrors().size() < properties.getMaxErrors()) {
+            result.getErrors().add(row + "행: " + error);
+        }
+    }
+
+    private record BatchOutcome(Map<Long, Product> existing, List<ProductIndexService.Entry> before,
+                                List<Product> upserts, List<Product> inserts) {
+    }
+}
@@ -0,0 +1,665 @@
+package com.example.redistest.service;
+
+import com.example.redistest.config.ProductIndexProperties;
+import com.example.redistest.entity.Product;
+import com.example.redistest.repository.ProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 상품 검색 인덱스 (Redis)
+ *
+ * 상품 이름의 2~3글자 n-gram마다 Sorted Set(멤버/점수 = 상품 id)을 두고,
+ * 검색어의 n-gram 집합을 교집합(ZINTERSTORE)해 후보 id를 id 순으로 꺼낸다. 후보 선택에 DB를 쓰지 않는다.
+ * 1글자 n-gram은 거의 모든 상품을 담아 메모리만 차지하므로 두지 않고, 1글자 검색어는 호출자가 DB에서 처리한다.
+ * 목록 조회용으로 가격 인덱스(점수 = 가격)와 카테고리별 인덱스(점수 = 상품 id)도 함께 관리한다.
+ * 이 두 인덱스의 멤버는 0으로 자리수를 맞춘 id라 같은 가격 안에서도 id 순으로 정렬된다.
+ *
+ * 키는 세대(generation) 단위로 나뉜다.
+ * - n-gram 키는 id 구간(shard-size)별 샤드로 다시 나눈다: pidx:{g<세대>:s<샤드>}:gram:<n-gram>
+ *   샤드마다 해시 태그가 달라 Cluster에서 여러 슬롯에 퍼지고, 교집합은 샤드 안에서 계산해 id 순으로 이어 붙인다.
+ * - 가격/카테고리 키는 서로 교집합을 구하므로 세대 하나의 슬롯에 둔다: pidx:{g<세대>}:price, pidx:{g<세대>}:cat:<카테고리>
+ * - 전체 재구축은 새 세대에 채운 뒤 pidx:gen을 바꿔 전환하고, 잠시 뒤 이전 세대를 삭제한다.
+ * - 재구축 중의 변경은 현재 세대와 만드는 중인 세대 모두에 반영한다.
+ */
+@Slf4j
+@Service
+public class ProductIndexService implements MeterBinder {
+
+    private static final int MIN_GRAM = 2;
+    private static final int MAX_GRAM = 3;
+    private static final int MAX_QUERY_LENGTH = 50;
+
+    /**
+     * 샤드 하나의 검색 후보 조회 (id 오름차순)
+     * KEYS[1]: 교집합 캐시 키, KEYS[2..]: n-gram 키, ARGV[1]: afterId, ARGV[2]: 개수, ARGV[3]: 캐시 시간(ms)
+     * n-gram이 하나면 바로 조회하고, 여러 개면 교집합을 만들어 두고 재사용한다.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SEARCH_SCRIPT = new DefaultRedisScript<>(
+            "local target = KEYS[2] "
+                    + "if #KEYS > 2 then "
+                    + "target = KEYS[1] "
+                    + "if redis.call('EXISTS', target) == 0 then "
+                    + "local args = {target, #KEYS - 1} "
+                    + "for i = 2, #KEYS do args[#args + 1] = KEYS[i] end "
+                    + "args[#args + 1] = 'AGGREGATE' args[#args + 1] = 'MIN' "
+                    + "redis.call('ZINTERSTORE', unpack(args)) "
+                    + "redis.call('PEXPIRE', target, ARGV[3]) end end "
+                    + "return redis.call('ZRANGEBYSCORE', target, '(' .. ARGV[1], '+inf', 'LIMIT', 0, ARGV[2])",
+            List.class);
+
+    /**
+     * 가격 범위 조회 (가격 오름차순)
+     * KEYS[1]: 가격 인덱스 또는 카테고리 교집합 캐시 키, KEYS[2]: 가격 인덱스, KEYS[3]: 카테고리 인덱스
+     * ARGV[1..2]: 최소/최대 가격, ARGV[3..4]: offset/개수, ARGV[5]: 캐시 시간(ms)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PRICE_RANGE_SCRIPT = new DefaultRedisScript<>(
+            "if #KEYS == 3 and redis.call('EXISTS', KEYS[1]) == 0 then "
+                    + "redis.call('ZINTERSTORE', KEYS[1], 2, KEYS[2], KEYS[3], 'WEIGHTS', 1, 0) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[5]) end "
+                    + "return redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[1], ARGV[2], 'LIMIT', ARGV[3], ARGV[4])",
+            List.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ProductIndexProperties properties;
+    private final RedisMetrics redisMetrics;
+
+    /**
+     * 검색에 쓰는 세대 (0: 아직 만들어지지 않음)
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 재구축 중인 세대 (0: 없음)
+     */
+    private volatile long buildingGeneration;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder syncErrors = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public ProductIndexService(StringRedisTemplate stringRedisTemplate, ProductRepository productRepository,
+                               EntityManager entityManager, PlatformTransactionManager transactionManager,
+                               ProductIndexProperties properties, RedisMetrics redisMetrics) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.redisMetrics = redisMetrics;
+    }
+
+    /**
+     * 인덱스에 반영할 상품 필드
+     * 수정 시에는 변경 전 값을 따로 떠 두어야 이전 n-gram을 지울 수 있다.
+     */
+    public record Entry(Long id, String name, BigDecimal price, String category) {
+        public static Entry of(Product product) {
+            return new Entry(product.getId(), product.getName(), product.getPrice(), product.getCategory());
+        }
+    }
+
+    public boolean isReady() {
+        return properties.isEnabled() && generation.get() > 0;
+    }
+
+    // ==================== 동기화 ====================
+
+    /**
+     * 트랜잭션 커밋 후 인덱스 반영 (before: 생성 시 null, after: 삭제 시 null)
+     * 롤백된 변경이 인덱스에 남지 않도록 커밋 이후에 반영한다. 반영에 실패해도 다음 재구축에서 맞춰진다.
+     */
+    public void syncAfterCommit(Entry before, Entry after) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sync(before, after);
+                }
+            });
+        } else {
+            sync(before, after);
+        }
+    }
+
+    private void sync(Entry before, Entry after) {
+        try {
+            for (long target : targetGenerations()) {
+                write(target, before != null ? List.of(before) : List.of(), after != null ? List.of(after) : List.of());
+            }
+        } catch (DataAccessException e) {
+            syncErrors.increment();
+            Long id = after != null ? after.id() : before.id();
+            log.warn("상품 인덱스 반영 실패 - id: {}, error: {}", id, e.getMessage());
+        }
+    }
+
+    /**
+     * 여러 상품의 변경을 한 번에 반영 (세대마다 파이프라인 1회, 커밋된 뒤에 호출)
+     * before: 변경 전 값이 있는 상품만, after: 변경 후 값
+     */
+    public void syncBatch(Collection<Entry> before, Collection<Entry> after) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            for (long target : targetGenerations()) {
+                write(target, before, after);
+            }
+        } catch (DataAccessException e) {
+            syncErrors.increment();
+            log.warn("상품 인덱스 일괄 반영 실패 - products: {}, error: {}", after.size(), e.getMessage());
+        }
+    }
+
+    private List<Long> targetGenerations() {
+        List<Long> targets = new ArrayList<>(2);
+        if (generation.get() > 0) {
+            targets.add(generation.get());
+        }
+        long building = buildingGeneration;
+        if (building > 0 && building != generation.get()) {
+            targets.add(building);
+        }
+        return targets;
+    }
+
+    /**
+     * 한 세대에 변경 반영 (파이프라인 1회)
+     * removed에만 있던 n-gram/카테고리는 ZREM, added의 값은 ZADD (삭제된 상품은 가격 인덱스에서도 제거)
+     */
+    private void write(long target, Collection<Entry> removed, Collection<Entry> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return;
+        }
+        redisMetrics.run("PIPELINE:ZADD", properties.getKeyPrefix(), () -> stringRedisTemplate.executePipelined(
+                (RedisCallback<Object>) connection -> {
+                    StringRedisConnection redis = (StringRedisConnection) connection;
+                    Map<Long, Entry> addedById = new LinkedHashMap<>();
+                    Map<Long, Set<String>> addedGrams = new LinkedHashMap<>();
+                    for (Entry entry : added) {
+                        addedById.put(entry.id(), entry);
+                        addedGrams.put(entry.id(), grams(entry.name()));
+                    }
+                    for (Entry entry : removed) {
+                        String member = String.valueOf(entry.id());
+                        String sortable = sortableMember(entry.id());
+                        Entry replacement = addedById.get(entry.id());
+                        Set<String> keep = addedGrams.getOrDefault(entry.id(), Set.of());
+                        long shard = shardOf(entry.id());
+                        for (String gram : grams(entry.name())) {
+                            if (!keep.contains(gram)) {
+                                redis.zRem(gramKey(target, shard, gram), member);
+                            }
+                        }
+                        if (entry.category() != null
+                                && (replacement == null || replacement.category() == null
+                                        || !categoryKey(target, entry.category()).equals(categoryKey(target, replacement.category())))) {
+                            redis.zRem(categoryKey(target, entry.category()), sortable);
+                        }
+                        if (replacement == null) {
+                            redis.zRem(priceKey(target), sortable);
+                        }
+                    }
+                    Set<Long> shards = new TreeSet<>();
+                    addedById.forEach((id, entry) -> {
+                        String member = String.valueOf(id);
+                        String sortable = sortableMember(id);
+                        long shard = shardOf(id);
+                        shards.add(shard);
+                        for (String gram : addedGrams.get(id)) {
+                            redis.zAdd(gramKey(target, shard, gram), id, member);
+                        }
+                        if (entry.price() != null) {
+                            redis.zAdd(priceKey(target), entry.price().doubleValue(), sortable);
+                        }
+                        if (entry.category() != null) {
+                            redis.zAdd(categoryKey(target, entry.category()), id, sortable);
+                        }
+                    });
+                    // 검색 시 돌아볼 샤드 목록 (비어도 지우지 않는다)
+                    for (long shard : shards) {
+                        redis.zAdd(shardsKey(target), shard, String.valueOf(shard));
+                    }
+                    return null;
+                }));
+    }
+
+    // ==================== 검색 ====================
+
+    /**
+     * 이름 검색 후보 id (afterId 다음부터 최대 count개, id 오름차순)
+     * n-gram 교집합이므로 실제로 이름에 포함되지 않는 id가 섞일 수 있어 호출자가 이름으로 다시 확인해야 한다.
+     * afterId가 속한 샤드부터 차례로 조회하고 count개를 채우면 멈춘다. (isSearchable이 false인 검색어는 빈 목록)
+     */
+    public List<Long> searchCandidates(String query, long afterId, int count) {
+        String normalized = normalize(query);
+        if (normalized.length() > MAX_QUERY_LENGTH) {
+            normalized = normalized.substring(0, MAX_QUERY_LENGTH);
+        }
+        int length = normalized.codePointCount(0, normalized.length());
+        if (length < MIN_GRAM) {
+            return List.of();
+        }
+        searches.increment();
+        long current = generation.get();
+        // 검색어 길이만큼(최대 3글자)의 n-gram만 사용
+        Set<String> grams = new TreeSet<>(ngrams(normalized, Math.min(length, MAX_GRAM)));
+        String digest = DigestUtils.md5DigestAsHex(String.join("\n", grams).getBytes(StandardCharsets.UTF_8));
+
+        String shardsKey = shardsKey(current);
+        Set<String> shards = redisMetrics.record("ZRANGEBYSCORE", properties.getKeyPrefix(), () -> stringRedisTemplate
+                .opsForZSet().rangeByScore(shardsKey, shardOf(afterId + 1), Double.POSITIVE_INFINITY));
+        if (shards == null) {
+            return List.of();
+        }
+        List<Long> candidates = new ArrayList<>(count);
+        for (String value : shards) {
+            long shard = Long.parseLong(value);
+            List<String> keys = new ArrayList<>(grams.size() + 1);
+            keys.add(shardPrefix(current, shard) + "q:" + digest);
+            grams.forEach(gram -> keys.add(gramKey(current, shard, gram)));
+            int remaining = count - candidates.size();
+            @SuppressWarnings("unchecked")
+            List<String> ids = redisMetrics.record("EVALSHA:ZRANGEBYSCORE", properties.getKeyPrefix(),
+                    () -> stringRedisTemplate.execute(SEARCH_SCRIPT, keys, String.valueOf(afterId), String.valueOf(remaining),
+                            String.valueOf(properties.getQueryCacheTtl().toMillis())));
+            if (ids != null) {
+                ids.forEach(id -> candidates.add(Long.valueOf(id)));
+            }
+            if (candidates.size() >= count) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * n-gram 인덱스로 찾을 수 있는 검색어인지 (공백을 뺀 길이가 2글자 이상)
+     */
+    public static boolean isSearchable(String query) {
+        String normalized = normalize(query);
+        return normalized.codePointCount(0, normalized.length()) >= MIN_GRAM;
+    }
+
+    /**
+     * 카테고리 상품 id (afterId 다음부터 최대 count개, id 오름차순)
+     */
+    public List<Long> findByCategory(String category, long afterId, int count) {
+        String key = categoryKey(generation.get(), category);
+        Set<String> ids = redisMetrics.record("ZRANGEBYSCORE", key, () -> stringRedisTemplate.opsForZSet()
+                .rangeByScore(key, afterId + 1, Double.POSITIVE_INFINITY, 0, count));
+        return ids == null ? List.of() : ids.stream().map(Long::valueOf).toList();
+    }
+
+    /**
+     * 가격 범위 상품 id (가격 오름차순, offset부터 최대 count개)
+     * category를 주면 가격 인덱스와 카테고리 인덱스의 교집합(WEIGHTS 1 0 → 점수 = 가격)을 query-cache-ttl 동안 재사용한다.
+     */
+    public List<Long> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, String category, long offset, int count) {
+        long current = generation.get();
+        List<String> keys = new ArrayList<>(3);
+        if (category == null) {
+            keys.add(priceKey(current));
+        } else {
+            keys.add(generationPrefix(current) + "pricecat:" + normalizeCategory(category));
+            keys.add(priceKey(current));
+            keys.add(categoryKey(current, category));
+        }
+        @SuppressWarnings("unchecked")
+        List<String> ids = redisMetrics.record("EVALSHA:ZRANGEBYSCORE", properties.getKeyPrefix(),
+                () -> stringRedisTemplate.execute(PRICE_RANGE_SCRIPT, keys, minPrice.toPlainString(),
+                        maxPrice.toPlainString(), String.valueOf(offset), String.valueOf(count),
+                        String.valueOf(properties.getQueryCacheTtl().toMillis())));
+        return ids == null ? List.of() : ids.stream().map(Long::valueOf).toList();
+    }
+
+    /**
+     * 검색용 정규화 (소문자, 공백 제거)
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("\\s+", "");
+    }
+
+    /**
+     * 이름의 2~3글자 n-gram 전체
+     */
+    static Set<String> grams(String name) {
+        String normalized = normalize(name);
+        Set<String> grams = new LinkedHashSet<>();
+        for (int n = MIN_GRAM; n <= MAX_GRAM; n++) {
+            grams.addAll(ngrams(normalized, n));
+        }
+        return grams;
+    }
+
+    static List<String> ngrams(String text, int n) {
+        int[] codePoints = text.codePoints().toArray();
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + n <= codePoints.length; i++) {
+            grams.add(new String(codePoints, i, n));
+        }
+        return grams;
+    }
+
+    // ==================== 재구축 ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        refreshGeneration();
+        if (generation.get() == 0 && properties.isRebuildOnStartup()) {
+            log.info("상품 인덱스가 없어 재구축을 시작합니다.");
+            requestRebuild();
+        }
+    }
+
+    @Scheduled(cron = "${app.product-index.rebuild-cron:0 0 4 * * *}")
+    public void scheduledRebuild() {
+        if (properties.isEnabled()) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * 백그라운드 전체 재구축 요청 (이미 진행 중이면 false)
+     */
+    public boolean requestRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        rebuildExecutor.submit(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("상품 인덱스 재구축 실패", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void rebuild() {
+        String leaseKey = properties.getKeyPrefix() + "rebuild:lease";
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisMetrics.record("SETNX", leaseKey, () -> stringRedisTemplate.opsForValue()
+                .setIfAbsent(leaseKey, token, properties.getRebuildLeaseTtl()));
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.info("다른 노드에서 상품 인덱스를 재구축 중입니다.");
+            return;
+        }
+        long next = 0;
+        boolean switched = false;
+        try {
+            next = redisMetrics.record("INCR", properties.getKeyPrefix(),
+                    () -> stringRedisTemplate.opsForValue().increment(properties.getKeyPrefix() + "gen:seq"));
+            long building = next;
+            redisMetrics.run("SET", properties.getKeyPrefix(), () -> stringRedisTemplate.opsForValue()
+                    .set(buildingKey(), String.valueOf(building), properties.getRebuildLeaseTtl()));
+            buildingGeneration = next;
+            log.info("상품 인덱스 재구축 시작 - generation: {}", next);
+
+            Long count = readOnlyTransaction.execute(status -> fill(building));
+
+            long previous = generation.get();
+            redisMetrics.run("SET", properties.getKeyPrefix(),
+                    () -> stringRedisTemplate.opsForValue().set(generationKey(), String.valueOf(building)));
+            switched = true;
+            redisMetrics.record("DEL", properties.getKeyPrefix(), () -> stringRedisTemplate.delete(buildingKey()));
+            generation.set(next);
+            buildingGeneration = 0;
+            rebuilds.increment();
+            log.info("상품 인덱스 재구축 완료 - generation: {}, products: {}", next, count);
+
+            if (previous > 0 && previous != next) {
+                // 다른 노드가 새 세대로 전환할 때까지 기다린 뒤 삭제
+                Thread.sleep(properties.getOldGenerationGrace().toMillis());
+                deleteGeneration(previous);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            buildingGeneration = 0;
+            if (next > 0 && !switched) {
+                discardGeneration(next);
+            }
+            redisMetrics.record("EVALSHA", leaseKey,
+                    () -> stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token));
+        }
+    }
+
+    /**
+     * 전체 상품을 id 순으로 읽어 rebuildBatchSize개씩 새 세대에 반영
+     */
+    private long fill(long target) {
+        long count = 0;
+        List<Entry> batch = new ArrayList<>(properties.getRebuildBatchSize());
+        try (Stream<Product> products = productRepository.streamAllOrderById()) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                batch.add(Entry.of(product));
+                if (batch.size() >= properties.getRebuildBatchSize()) {
+                    write(target, List.of(), batch);
+                    count += batch.size();
+                    batch.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+        write(target, List.of(), batch);
+        return count + batch.size();
+    }
+
+    /**
+     * 전환하지 못한 세대 정리 (다른 노드가 더 이상 이중 쓰기하지 않도록 building 표시부터 지운다)
+     */
+    private void discardGeneration(long target) {
+        try {
+            redisMetrics.record("DEL", properties.getKeyPrefix(), () -> stringRedisTemplate.delete(buildingKey()));
+            deleteGeneration(target);
+            log.warn("상품 인덱스 재구축 중단 - 만들던 세대 삭제: {}", target);
+        } catch (DataAccessException e) {
+            log.warn("상품 인덱스 미완성 세대 삭제 실패 - generation: {}, error: {}", target, e.getMessage());
+        }
+    }
+
+    private void deleteGeneration(long target) {
+        // pidx:{g<세대>}:* 와 샤드 키 pidx:{g<세대>:s<샤드>}:* (다른 세대 pidx:{g<세대>0}:*는 제외)
+        String pattern = properties.getKeyPrefix() + "{g" + target + "[}:]*";
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+        List<String> keys = new ArrayList<>();
+        long deleted = 0;
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() >= 1000) {
+                    deleted += unlink(keys);
+                }
+            }
+        }
+        deleted += unlink(keys);
+        log.info("이전 상품 인덱스 삭제 - generation: {}, keys: {}", target, deleted);
+    }
+
+    private long unlink(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<String> batch = List.copyOf(keys);
+        keys.clear();
+        Long unlinked = redisMetrics.record("UNLINK", properties.getKeyPrefix(), () -> stringRedisTemplate.unlink(batch));
+        return unlinked != null ? unlinked : 0;
+    }
+
+    /**
+     * 다른 노드가 재구축한 세대로 전환 (generation-refresh-interval마다)
+     */
+    @Scheduled(fixedDelayString = "#{@productIndexProperties.generationRefreshInterval.toMillis()}")
+    public void refreshGeneration() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            List<String> values = redisMetrics.record("MGET", properties.getKeyPrefix(),
+                    () -> stringRedisTemplate.opsForValue().multiGet(List.of(generationKey(), buildingKey())));
+            if (values == null) {
+                return;
+            }
+            if (values.get(0) != null) {
+                generation.set(Long.parseLong(values.get(0)));
+            }
+            if (!rebuilding.get()) {
+                buildingGeneration = values.get(1) != null ? Long.parseLong(values.get(1)) : 0;
+            }
+        } catch (DataAccessException e) {
+            log.warn("상품 인덱스 세대 확인 실패 - error: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isEnabled());
+        stats.put("generation", generation.get());
+        stats.put("buildingGeneration", buildingGeneration);
+        stats.put("rebuilding", rebuilding.get());
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("searches", searches.sum());
+        stats.put("syncErrors", syncErrors.sum());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("product.index.generation", generation, AtomicLong::get).register(registry);
+        FunctionCounter.builder("product.index.searches", searches, LongAdder::sum).register(registry);
+        FunctionCounter.builder("product.index.sync.errors", syncErrors, LongAdder::sum).register(registry);
+        FunctionCounter.builder("product.index.rebuilds", rebuilds, LongAdder::sum).register(registry);
+    }
+
+    private String generationKey() {
+        return properties.getKeyPrefix() + "gen";
+    }
+
+    private String buildingKey() {
+        return properties.getKeyPrefix() + "gen:building";
+    }
+
+    private String generationPrefix(long target) {
+        return properties.getKeyPrefix() + "{g" + target + "}:";
+    }
+
+    /**
+     * n-gram 키 샤드 접두사 (샤드마다 다른 해시 태그)
+     */
+    private String shardPrefix(long target, long shard) {
+        return properties.getKeyPrefix() + "{g" + target + ":s" + shard + "}:";
+    }
+
+    private String shardsKey(long target) {
+        return generationPrefix(target) + "shards";
+    }
+
+    private String gramKey(long target, long shard, String gram) {
+        return shardPrefix(target, shard) + "gram:" + gram;
+    }
+
+    private long shardOf(long id) {
+        return Math.max(0, id) / properties.getShardSize();
+    }
+
+    private String priceKey(long target) {
+        return generationPrefix(target) + "price";
+    }
+
+    private String categoryKey(long target, String category) {
+        return generationPrefix(target) + "cat:" + normalizeCategory(category);
+    }
+
+    /**
+     * 가격/카테고리 인덱스 멤버 (19자리 0 채움)
+     * 같은 가격이면 Redis가 멤버 문자열 순으로 정렬하므로 id 순("9" < "10")이 되도록 자리수를 맞춘다. (DB 조회의 price, id 순과 같음)
+     * 카테고리 인덱스는 가격 인덱스와 교집합을 구하므로 같은 형식을 쓴다.
+     */
+    static String sortableMember(long id) {
+        String digits = Long.toString(id);
+        return digits.length() >= 19 ? digits : "0".repeat(19 - digits.length()) + digits;
+    }
+
+    /**
+     * MySQL 기본 콜레이션은 대소문자를 구분하지 않으므로 인덱스 키도 소문자로 맞춘다
+     */
+    private static String normalizeCategory(String category) {
+        return category.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,36 +1,104 @@
 package com.example.redistest.service;
 
+import com.example.redistest.config.ProductCacheProperties;
 import com.example.redistest.dto.ProductRequest;
 import com.example.redistest.entity.Product;
+import com.example.redistest.exception.ProductNotFoundException;
 import com.example.redistest.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductService {
     
+    // 이름 검색 시 후보를 다시 가져오는 최대 횟수 (n-gram 후보 중 실제로 일치하지 않는 상품이 많을 때)
+    private static final int MAX_SEARCH_ROUNDS = 5;
+    
     private final ProductRepository productRepository;
+    private final ProductCacheService productCacheService;
+    private final ProductCacheProperties productCacheProperties;
+    private final RequestCoalescer requestCoalescer;
+    private final ProductIndexService productIndexService;
+    private final ProductBloomFilterService productBloomFilterService;
+    private final EntityManager entityManager;
     
-    // 전체 조회
+    // 페이지 조회 (키셋: afterId 다음부터 size개, id 오름차순)
     @Transactional(readOnly = true)
-    public List<Product> getAllProducts() {
-        log.info("전체 상품 조회");
-        return productRepository.findAll();
+    public List<Product> getProducts(long afterId, int size) {
+        log.info("상품 페이지 조회: afterId={}, size={}", afterId, size);
+        return productRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size));
     }
     
-    // ID로 조회
+    // 전체 내보내기 (id 순으로 한 행씩 전달)
+    // 전달한 엔티티는 바로 분리해 영속성 컨텍스트가 커지지 않으므로 테이블 크기와 관계없이 메모리가 일정하다
     @Transactional(readOnly = true)
+    public long exportProducts(Consumer<Product> sink) {
+        log.info("상품 내보내기 시작");
+        long count = 0;
+        try (Stream<Product> products = productRepository.streamAllOrderById()) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                sink.accept(product);
+                entityManager.detach(product);
+                count++;
+            }
+        }
+        log.info("상품 내보내기 완료: {}건", count);
+        return count;
+    }
+    
+    // ID로 조회 (Redis 캐시 우선)
+    // 캐시 히트 시 DB 커넥션을 잡지 않도록 트랜잭션을 걸지 않는다
+    // 캐시 미스는 키 단위로 병합되어 동시 요청 중 하나만 DB를 조회한다
+    // 캐시 미스 중 블룸 필터가 거절한 id는 DB를 조회하지 않고 404
     public Product getProductById(Long id) {
         log.info("상품 조회: ID={}", id);
-        return productRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("상품을 찾을 수 없습니다: " + id));
+        return productCacheService.get(id).orElseGet(() -> {
+            if (!productBloomFilterService.mightContain(id)) {
+                throw new ProductNotFoundException(id);
+            }
+            try {
+                return loadProduct(id);
+            } catch (ProductNotFoundException e) {
+                productBloomFilterService.recordFalsePositive();
+                throw e;
+            }
+        });
+    }
+    
+    // 여러 id를 한 번에 조회 (캐시 MGET 1회 → 없는 id만 DB IN 조회 1회 → 파이프라인으로 캐시 채움)
+    // 반환: id → 상품 (존재하지 않는 id는 포함하지 않음)
+    public Map<Long, Product> getProductsByIds(Collection<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Map<Long, Product> products = productCacheService.getAll(distinctIds);
+        List<Long> missingIds = distinctIds.stream().filter(id -> !products.containsKey(id)).toList();
+        if (!missingIds.isEmpty()) {
+            List<Product> loaded = productRepository.findAllById(missingIds);
+            loaded.forEach(product -> products.put(product.getId(), product));
+            productCacheService.putAll(loaded);
+        }
+        log.info("상품 다중 조회: 요청={}, 캐시={}, DB={}", distinctIds.size(),
+                distinctIds.size() - missingIds.size(), missingIds.size());
+        return products;
     }
     
     // 생성
@@ -43,14 +111,18 @@ public class ProductService {
         product.setPrice(request.getPrice());
         product.setStock(request.getStock());
         product.setCategory(request.getCategory());
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productIndexService.syncAfterCommit(null, ProductIndexService.Entry.of(saved));
+        productBloomFilterService.addAfterCommit(saved.getId());
+        return saved;
     }
     
     // 수정
     @Transactional
     public Product updateProduct(Long id, ProductRequest request) {
         log.info("상품 수정: ID={}", id);
-        Product product = getProductById(id);
+        Product product = findProduct(id);
+        ProductIndexService.Entry before = ProductIndexService.Entry.of(product);
         
         if (request.getName() != null) product.setName(request.getName());
         if (request.getDescription() != null) product.setDescription(request.getDescription());
@@ -58,36 +130,115 @@ public class ProductService {
         if (request.getStock() != null) product.setStock(request.getStock());
         if (request.getCategory() != null) product.setCategory(request.getCategory());
         
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productCacheService.evictAfterCommit(id);
+        productIndexService.syncAfterCommit(before, ProductIndexService.Entry.of(saved));
+        return saved;
     }
     
     // 삭제
     @Transactional
     public void deleteProduct(Long id) {
         log.info("상품 삭제: ID={}", id);
-        Product product = getProductById(id);
+        Product product = findProduct(id);
         productRepository.delete(product);
+        productCacheService.evictAfterCommit(id);
+        productIndexService.syncAfterCommit(ProductIndexService.Entry.of(product), null);
     }
     
-    // 이름으로 검색
-    @Transactional(readOnly = true)
-    public List<Product> searchByName(String name) {
+    // 이름으로 검색 (Redis n-gram 인덱스로 후보 id를 고르고, 후보만 id로 읽어 이름을 확인)
+    // 인덱스가 아직 만들어지지 않았거나 1글자 검색어(인덱스에 1글자 n-gram이 없음)면 DB LIKE 검색
+    public List<Product> searchByName(String name, long afterId, int limit) {
         log.info("상품 이름 검색: {}", name);
-        return productRepository.findByNameContaining(name);
+        if (!productIndexService.isReady() || !ProductIndexService.isSearchable(name)) {
+            if (!productIndexService.isReady()) {
+                log.warn("상품 인덱스가 준비되지 않아 DB에서 검색합니다.");
+            }
+            return productRepository.findByNameContaining(name).stream()
+                    .filter(product -> product.getId() > afterId)
+                    .sorted(Comparator.comparing(Product::getId))
+                    .limit(limit)
+                    .toList();
+        }
+        
+        String needle = ProductIndexService.normalize(name);
+        int batchSize = limit * 2;
+        List<Product> results = new ArrayList<>(limit);
+        long cursor = afterId;
+        for (int round = 0; round < MAX_SEARCH_ROUNDS && results.size() < limit; round++) {
+            List<Long> candidates = productIndexService.searchCandidates(name, cursor, batchSize);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            cursor = candidates.get(candidates.size() - 1);
+            for (Product product : loadProducts(candidates)) {
+                if (results.size() < limit && ProductIndexService.normalize(product.getName()).contains(needle)) {
+                    results.add(product);
+                }
+            }
+            if (candidates.size() < batchSize) {
+                break;
+            }
+        }
+        return results;
     }
     
-    // 카테고리로 검색
-    @Transactional(readOnly = true)
-    public List<Product> searchByCategory(String category) {
+    // id 목록을 한 번에 조회 (ids 순서 유지, 존재하지 않는 id는 제외)
+    private List<Product> loadProducts(List<Long> ids) {
+        Map<Long, Product> byId = getProductsByIds(ids);
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+    
+    // 카테고리로 검색 (키셋: afterId 다음부터 limit개, id 오름차순)
+    // Redis 카테고리 인덱스에서 id를 고르고 해당 상품만 id로 읽는다
+    public List<Product> searchByCategory(String category, long afterId, int limit) {
         log.info("카테고리 검색: {}", category);
-        return productRepository.findByCategory(category);
+        if (!productIndexService.isReady()) {
+            log.warn("상품 인덱스가 준비되지 않아 DB에서 검색합니다.");
+            return productRepository.findByCategoryAndIdGreaterThanOrderByIdAsc(category, afterId, Limit.of(limit));
+        }
+        return loadProducts(productIndexService.findByCategory(category, afterId, limit)).stream()
+                .filter(product -> category.equalsIgnoreCase(product.getCategory()))
+                .toList();
     }
     
-    // 가격 범위로 검색
-    @Transactional(readOnly = true)
-    public List<Product> searchByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        log.info("가격 범위 검색: {} ~ {}", minPrice, maxPrice);
-        return productRepository.findByPriceBetween(minPrice, maxPrice);
+    // 가격 범위로 검색 (가격 오름차순, page/size 페이지, category를 주면 해당 카테고리만)
+    // Redis 가격 인덱스(카테고리 조건이 있으면 카테고리 인덱스와의 교집합)에서 id를 고르고 해당 상품만 id로 읽는다
+    public List<Product> searchByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, String category, int page, int size) {
+        log.info("가격 범위 검색: {} ~ {}, category={}", minPrice, maxPrice, category);
+        if (!productIndexService.isReady()) {
+            log.warn("상품 인덱스가 준비되지 않아 DB에서 검색합니다.");
+            PageRequest pageable = PageRequest.of(page, size, Sort.by("price", "id"));
+            return category == null
+                    ? productRepository.findByPriceBetween(minPrice, maxPrice, pageable)
+                    : productRepository.findByCategoryAndPriceBetween(category, minPrice, maxPrice, pageable);
+        }
+        List<Long> ids = productIndexService.findByPriceRange(minPrice, maxPrice, category, (long) page * size, size);
+        return loadProducts(ids).stream()
+                .filter(product -> product.getPrice().compareTo(minPrice) >= 0 && product.getPrice().compareTo(maxPrice) <= 0)
+                .filter(product -> category == null || category.equalsIgnoreCase(product.getCategory()))
+                .toList();
+    }
+    
+    // 캐시 미스 시 DB 조회 후 캐시 저장 (요청 병합)
+    private Product loadProduct(Long id) {
+        String key = productCacheService.key(id);
+        if (productCacheProperties.isLeaseEnabled()) {
+            return requestCoalescer.loadWithLease(key, () -> productCacheService.peek(id), () -> loadAndCache(id),
+                    productCacheProperties.getLeaseTtl(), productCacheProperties.getLeasePollInterval());
+        }
+        return requestCoalescer.load(key, () -> loadAndCache(id));
+    }
+    
+    private Product loadAndCache(Long id) {
+        Product product = findProduct(id);
+        productCacheService.put(product);
+        return product;
+    }
+    
+    // DB에서 직접 조회 (수정/삭제 시 영속 상태의 엔티티가 필요)
+    private Product findProduct(Long id) {
+        return productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
     }
 }
-
@@ -0,0 +1,232 @@
+package com.example.redistest.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.geo.*;
+import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * RedisDataStructureService의 논블로킹 버전 (ReactiveRedisTemplate 기반)
+ * Redis 응답을 기다리는 동안 요청 스레드를 점유하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveRedisDataStructureService {
+
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final NearCacheService nearCacheService;
+
+    // ==================== String Operations ====================
+
+    public Mono<Boolean> setString(String key, String value) {
+        return reactiveRedisTemplate.opsForValue().set(key, value)
+                .flatMap(result -> invalidateString(key).thenReturn(result));
+    }
+
+    /**
+     * 로컬(L1) 니어 캐시를 먼저 확인하고, 없으면 Redis에서 조회
+     */
+    public Mono<String> getString(String key) {
+        String local = nearCacheService.get(NearCacheService.REGION_STRING, key);
+        if (local != null) {
+            return Mono.just(local);
+        }
+        return reactiveRedisTemplate.opsForValue().get(key)
+                .map(Object::toString)
+                .doOnNext(value -> nearCacheService.put(NearCacheService.REGION_STRING, key, value));
+    }
+
+    public Mono<Boolean> setStringWithExpire(String key, String value, Duration timeout) {
+        return reactiveRedisTemplate.opsForValue().set(key, value, timeout)
+                .flatMap(result -> invalidateString(key).thenReturn(result));
+    }
+
+    public Mono<Long> incrementBy(String key, long delta) {
+        return reactiveRedisTemplate.opsForValue().increment(key, delta)
+                .flatMap(result -> invalidateString(key).thenReturn(result));
+    }
+
+    // ==================== List Operations ====================
+
+    public Mono<Long> pushToList(String key, Object... values) {
+        return reactiveRedisTemplate.opsForList().rightPushAll(key, values);
+    }
+
+    public Flux<Object> getList(String key, long start, long end) {
+        return reactiveRedisTemplate.opsForList().range(key, start, end);
+    }
+
+    public Mono<Object> popFromList(String key) {
+        return reactiveRedisTemplate.opsForList().leftPop(key);
+    }
+
+    public Mono<Long> getListSize(String key) {
+        return reactiveRedisTemplate.opsForList().size(key);
+    }
+
+    // ==================== Set Operations ====================
+
+    public Mono<Long> addToSet(String key, Object... values) {
+        return reactiveRedisTemplate.opsForSet().add(key, values);
+    }
+
+    public Flux<Object> getSetMembers(String key) {
+        return reactiveRedisTemplate.opsForSet().members(key);
+    }
+
+    public Mono<Boolean> isMemberOfSet(String key, Object value) {
+        return reactiveRedisTemplate.opsForSet().isMember(key, value);
+    }
+
+    public Mono<Long> getSetSize(String key) {
+        return reactiveRedisTemplate.opsForSet().size(key);
+    }
+
+    public Flux<Object> setIntersect(String key1, String key2) {
+        return reactiveRedisTemplate.opsForSet().intersect(key1, key2);
+    }
+
+    public Flux<Object> setUnion(String key1, String key2) {
+        return reactiveRedisTemplate.opsForSet().union(key1, key2);
+    }
+
+    public Flux<Object> setDifference(String key1, String key2) {
+        return reactiveRedisTemplate.opsForSet().difference(key1, key2);
+    }
+
+    // ==================== Sorted Set Operations ====================
+
+    public Mono<Boolean> addToSortedSet(String key, Object value, double score) {
+        return reactiveRedisTemplate.opsForZSet().add(key, value, score);
+    }
+
+    public Flux<Object> getSortedSetRange(String key, long start, long end) {
+        return reactiveRedisTemplate.opsForZSet().range(key, Range.closed(start, end));
+    }
+
+    public Flux<Object> getSortedSetReverseRange(String key, long start, long end) {
+        return reactiveRedisTemplate.opsForZSet().reverseRange(key, Range.closed(start, end));
+    }
+
+    public Mono<Long> getSortedSetRank(String key, Object value) {
+        return reactiveRedisTemplate.opsForZSet().rank(key, value);
+    }
+
+    public Mono<Double> getSortedSetScore(String key, Object value) {
+        return reactiveRedisTemplate.opsForZSet().score(key, value);
+    }
+
+    // ==================== Hash Operations ====================
+
+    public Mono<Boolean> setHash(String key, String field, Object value) {
+        return reactiveRedisTemplate.<String, Object>opsForHash().put(key, field, value);
+    }
+
+    public Mono<Boolean> setHashAll(String key, Map<String, Object> map) {
+        return reactiveRedisTemplate.<String, Object>opsForHash().putAll(key, map);
+    }
+
+    public Mono<Object> getHashField(String key, String field) {
+        return reactiveRedisTemplate.<String, Object>opsForHash().get(key, field);
+    }
+
+    public Flux<Map.Entry<String, Object>> getHashAll(String key) {
+        return reactiveRedisTemplate.<String, Object>opsForHash().entries(key);
+    }
+
+    public Flux<String> getHashKeys(String key) {
+        return reactiveRedisTemplate.<String, Object>opsForHash().keys(key);
+    }
+
+    public Flux<Object> getHashValues(String key) {
+        return reactiveRedisTemplate.<String, Object>opsForHash().values(key);
+    }
+
+    public Mono<Boolean> hasHashKey(String key, String field) {
+        return reactiveRedisTemplate.<String, Object>opsForHash().hasKey(key, field);
+    }
+
+    // ==================== HyperLogLog Operations ====================
+
+    public Mono<Long> addToHyperLogLog(String key, Object... values) {
+        return reactiveRedisTemplate.opsForHyperLogLog().add(key, values);
+    }
+
+    public Mono<Long> getHyperLogLogSize(String key) {
+        return reactiveRedisTemplate.opsForHyperLogLog().size(key);
+    }
+
+    // ==================== Geo Operations ====================
+
+    public Mono<Long> addGeoLocation(String key, double longitude, double latitude, String member) {
+        return reactiveRedisTemplate.opsForGeo().add(key, new Point(longitude, latitude), member);
+    }
+
+    public Mono<Distance> getDistance(String key, String member1, String member2) {
+        return reactiveRedisTemplate.opsForGeo().distance(key, member1, member2,
+                                                          RedisGeoCommands.DistanceUnit.KILOMETERS);
+    }
+
+    public Flux<GeoResult<RedisGeoCommands.GeoLocation<Object>>> getGeoRadius(
+            String key, double longitude, double latitude, double radius) {
+
+        Circle circle = new Circle(new Point(longitude, latitude),
+                                  new Distance(radius, Metrics.KILOMETERS));
+
+        return reactiveRedisTemplate.opsForGeo().radius(key, circle, radiusArgs());
+    }
+
+    public Flux<GeoResult<RedisGeoCommands.GeoLocation<Object>>> getGeoRadiusByMember(
+            String key, String member, double radius) {
+        return reactiveRedisTemplate.opsForGeo().radius(key, member,
+                                                        new Distance(radius, Metrics.KILOMETERS), radiusArgs());
+    }
+
+    // ==================== Common Operations ====================
+
+    public Mono<Boolean> deleteKey(String key) {
+        return reactiveRedisTemplate.delete(key)
+                .map(count -> count > 0)
+                .flatMap(result -> invalidateString(key).thenReturn(result));
+    }
+
+    public Mono<Boolean> hasKey(String key) {
+        return reactiveRedisTemplate.hasKey(key);
+    }
+
+    public Mono<Boolean> expire(String key, Duration timeout) {
+        return reactiveRedisTemplate.expire(key, timeout)
+                .flatMap(result -> invalidateString(key).thenReturn(result));
+    }
+
+    public Mono<Duration> getExpire(String key) {
+        return reactiveRedisTemplate.getExpire(key);
+    }
+
+    private static RedisGeoCommands.GeoRadiusCommandArgs radiusArgs() {
+        return RedisGeoCommands.GeoRadiusCommandArgs.newGeoRadiusArgs()
+                .includeDistance()
+                .includeCoordinates()
+                .sortAscending()
+                .limit(10);
+    }
+
+    /**
+     * 니어 캐시 무효화 메시지 발행은 블로킹 호출이므로 boundedElastic에서 실행
+     */
+    private Mono<Void> invalidateString(String key) {
+        return Mono.fromRunnable(() -> nearCacheService.invalidate(NearCacheService.REGION_STRING, key))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
@@ -1,23 +1,135 @@
 package com.example.redistest.service;
 
+import com.example.redistest.config.HyperLogLogProperties.Granularity;
+import com.example.redistest.config.ShardedCounterProperties;
+import com.example.redistest.dto.GeoBatchResult;
+import com.example.redistest.dto.ListPage;
+import com.example.redistest.dto.ScanPage;
+import com.example.redistest.dto.SetStoreResult;
+import com.example.redistest.dto.StringEntryRequest;
 import com.example.redistest.model.Location;
 import com.example.redistest.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.lettuce.core.KeyScanArgs;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.MapScanCursor;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.ValueScanCursor;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.geo.*;
+import org.springframework.data.redis.connection.DataType;
 import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RedisDataStructureService {
 
+    private static final long SCAN_TIMEOUT_SECONDS = 10;
+
+    /**
+     * LLEN과 LRANGE를 한 번의 왕복으로 원자적으로 실행 ({길이, 항목들})
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LIST_PAGE_SCRIPT = new DefaultRedisScript<>(
+            "return {redis.call('LLEN', KEYS[1]), redis.call('LRANGE', KEYS[1], ARGV[1], ARGV[2])}",
+            List.class);
+
+    /**
+     * 집합 연산 결과 저장 ({재사용 여부, 원소 수, 남은 TTL(ms)})
+     * KEYS[1]: 결과 키, KEYS[2..]: 원본 키, ARGV[1]: 명령(SINTERSTORE 등), ARGV[2]: TTL(ms), ARGV[3]: 1이면 강제 재계산
+     * 결과 키가 남아 있으면 다시 계산하지 않는다. (빈 결과는 키가 만들어지지 않으므로 매번 계산)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SET_STORE_SCRIPT = new DefaultRedisScript<>(
+            "if ARGV[3] ~= '1' and redis.call('EXISTS', KEYS[1]) == 1 then "
+                    + "return {1, redis.call('SCARD', KEYS[1]), redis.call('PTTL', KEYS[1])} end "
+                    + "local size = redis.call(ARGV[1], unpack(KEYS)) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+                    + "return {0, size, tonumber(ARGV[2])}",
+            List.class);
+
+    private static final String SET_RESULT_PREFIX = "setop:";
+
+    private static final String HLL_PREFIX = "hll:";
+
+    /**
+     * 윈도우 카운트 ({추정 개수, 병합 결과 재사용 여부})
+     * KEYS[1]: 지난 구간 병합 결과, KEYS[2]: 현재 구간, KEYS[3..]: 지난 구간들, ARGV[1]: 병합 결과 보관 시간(ms)
+     * 지난 구간은 더 바뀌지 않으므로 한 번 PFMERGE 한 결과를 재사용하고, 현재 구간만 함께 PFCOUNT 한다.
+     */
+    private static final byte[] HLL_WINDOW_SCRIPT = ("local cached = 1 "
+            + "if redis.call('EXISTS', KEYS[1]) == 0 then "
+            + "cached = 0 "
+            + "redis.call('PFMERGE', KEYS[1], unpack(KEYS, 3)) "
+            + "redis.call('PEXPIRE', KEYS[1], ARGV[1]) end "
+            + "return {redis.call('PFCOUNT', KEYS[1], KEYS[2]), cached}").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 로컬 스케치 병합
+     * KEYS[1]: 구간 키, KEYS[2]: 임시 키, ARGV[1]: Redis dense 형식 HLL, ARGV[2]: 구간 키 보관 시간(ms)
+     */
+    private static final byte[] HLL_MERGE_SCRIPT = ("redis.call('SET', KEYS[2], ARGV[1]) "
+            + "redis.call('PFMERGE', KEYS[1], KEYS[2]) "
+            + "redis.call('DEL', KEYS[2]) "
+            + "return redis.call('PEXPIRE', KEYS[1], ARGV[2])").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 서버 측 집합 연산 종류와 결과를 저장하는 명령
+     */
+    public enum SetOperation {
+        INTER("SINTERSTORE"),
+        UNION("SUNIONSTORE"),
+        DIFF("SDIFFSTORE");
+
+        private final String storeCommand;
+
+        SetOperation(String storeCommand) {
+            this.storeCommand = storeCommand;
+        }
+
+        public String getStoreCommand() {
+            return storeCommand;
+        }
+    }
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final NearCacheService nearCacheService;
+    private final RedisMetrics redisMetrics;
+    private final ShardedCounterProperties shardedCounterProperties;
+
+    /**
+     * 샤딩 카운터 합계 (cached=true 조회용, total-cache-ttl 동안 보관)
+     */
+    private final Cache<String, Long> shardedCounterTotals = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfter(Expiry.creating((String key, Long total) -> this.shardedCounterProperties.getTotalCacheTtl()))
+            .build();
 
     // ==================== String Operations ====================
     
@@ -25,32 +137,194 @@ public class RedisDataStructureService {
      * String: 가장 기본적인 Key-Value 저장
      */
     public void setString(String key, String value) {
-        redisTemplate.opsForValue().set(key, value);
+        redisMetrics.run("SET", key, () -> redisTemplate.opsForValue().set(key, value));
+        nearCacheService.invalidate(NearCacheService.REGION_STRING, key);
         log.debug("String 저장 - key: {}, value: {}", key, value);
     }
 
+    /**
+     * 로컬(L1) 니어 캐시를 먼저 확인하고, 없으면 Redis에서 조회
+     */
     public String getString(String key) {
-        Object value = redisTemplate.opsForValue().get(key);
-        return value != null ? value.toString() : null;
+        String local = nearCacheService.get(NearCacheService.REGION_STRING, key);
+        if (local != null) {
+            return local;
+        }
+        Object value = redisMetrics.record("GET", key, () -> redisTemplate.opsForValue().get(key));
+        String result = value != null ? value.toString() : null;
+        nearCacheService.put(NearCacheService.REGION_STRING, key, result);
+        return result;
     }
 
     /**
      * String with TTL (Time To Live)
      */
     public void setStringWithExpire(String key, String value, long timeout, TimeUnit unit) {
-        redisTemplate.opsForValue().set(key, value, timeout, unit);
+        redisMetrics.run("SETEX", key, () -> redisTemplate.opsForValue().set(key, value, timeout, unit));
+        nearCacheService.invalidate(NearCacheService.REGION_STRING, key);
         log.debug("String 저장 (TTL) - key: {}, value: {}, timeout: {}", key, value, timeout);
     }
 
+    /**
+     * 여러 키를 한 번에 조회 (MGET)
+     * 로컬(L1)에 있는 키는 제외하고 나머지만 한 번의 MGET으로 조회하며, 결과는 요청 순서를 따른다.
+     */
+    public List<String> multiGetString(List<String> keys) {
+        List<String> results = new ArrayList<>(keys.size());
+        List<String> missingKeys = new ArrayList<>();
+        List<Integer> missingIndexes = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            String local = nearCacheService.get(NearCacheService.REGION_STRING, keys.get(i));
+            results.add(local);
+            if (local == null) {
+                missingKeys.add(keys.get(i));
+                missingIndexes.add(i);
+            }
+        }
+        if (missingKeys.isEmpty()) {
+            return results;
+        }
+
+        List<Object> values = redisMetrics.record("MGET", missingKeys.get(0),
+                () -> redisTemplate.opsForValue().multiGet(missingKeys));
+        for (int i = 0; i < missingKeys.size(); i++) {
+            Object value = values != null ? values.get(i) : null;
+            String result = value != null ? value.toString() : null;
+            results.set(missingIndexes.get(i), result);
+            nearCacheService.put(NearCacheService.REGION_STRING, missingKeys.get(i), result);
+        }
+        log.debug("String 다중 조회 - keys: {}, redis: {}", keys.size(), missingKeys.size());
+        return results;
+    }
+
+    /**
+     * 여러 키를 한 번에 저장 (MSET)
+     */
+    public void multiSetString(Map<String, String> values) {
+        redisMetrics.run("MSET", values.keySet().stream().findFirst().orElse(null),
+                () -> redisTemplate.opsForValue().multiSet(values));
+        nearCacheService.invalidateAll(NearCacheService.REGION_STRING, values.keySet());
+        log.debug("String 다중 저장 - keys: {}", values.size());
+    }
+
+    /**
+     * 키별 TTL이 다른 다중 저장 (SET EX를 파이프라인으로 전송)
+     */
+    public void multiSetStringWithExpire(List<StringEntryRequest> entries) {
+        String firstKey = entries.isEmpty() ? null : entries.get(0).getKey();
+        redisMetrics.run("PIPELINE:SETEX", firstKey, () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (StringEntryRequest entry : entries) {
+                connection.stringCommands().set(rawKey(entry.getKey()), rawValue(entry.getValue()),
+                        Expiration.seconds(entry.getSeconds()), RedisStringCommands.SetOption.upsert());
+            }
+            return null;
+        }));
+        nearCacheService.invalidateAll(NearCacheService.REGION_STRING,
+                entries.stream().map(StringEntryRequest::getKey).toList());
+        log.debug("String 다중 저장 (TTL) - keys: {}", entries.size());
+    }
+
     /**
      * Increment/Decrement 연산
      */
     public Long increment(String key) {
-        return redisTemplate.opsForValue().increment(key);
+        Long result = redisMetrics.record("INCR", key, () -> redisTemplate.opsForValue().increment(key));
+        nearCacheService.invalidate(NearCacheService.REGION_STRING, key);
+        return result;
     }
 
     public Long incrementBy(String key, long delta) {
-        return redisTemplate.opsForValue().increment(key, delta);
+        Long result = redisMetrics.record("INCRBY", key, () -> redisTemplate.opsForValue().increment(key, delta));
+        nearCacheService.invalidate(NearCacheService.REGION_STRING, key);
+        return result;
+    }
+
+    /**
+     * 여러 키를 한 번에 증가 (INCRBY를 파이프라인으로 전송)
+     * 반환값은 입력 순서대로의 증가 후 값
+     */
+    public List<Long> multiIncrementBy(Map<String, Long> deltas) {
+        String firstKey = deltas.keySet().stream().findFirst().orElse(null);
+        List<Object> results = redisMetrics.record("PIPELINE:INCRBY", firstKey,
+                () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    deltas.forEach((key, delta) -> connection.stringCommands().incrBy(rawKey(key), delta));
+                    return null;
+                }));
+        nearCacheService.invalidateAll(NearCacheService.REGION_STRING, deltas.keySet());
+        return results.stream().map(result -> ((Number) result).longValue()).toList();
+    }
+
+    // ==================== Sharded Counter ====================
+
+    /**
+     * 샤딩 카운터 증가
+     * 하나의 키에 몰리는 쓰기를 N개의 서브키(key:0 ~ key:N-1) 중 임의의 하나로 보내
+     * Cluster에서 여러 슬롯/노드로 분산한다. 반환값은 선택한 샤드와 그 샤드의 값.
+     */
+    public Map<String, Object> incrementSharded(String key, long delta) {
+        int shards = shardedCounterProperties.shardsFor(key);
+        int shard = ThreadLocalRandom.current().nextInt(shards);
+        String shardKey = shardKey(key, shard);
+        Long shardValue = redisMetrics.record("INCRBY", shardKey,
+                () -> redisTemplate.execute((RedisCallback<Long>) connection ->
+                        connection.stringCommands().incrBy(rawKey(shardKey), delta)));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("key", key);
+        result.put("shard", shard);
+        result.put("shards", shards);
+        result.put("shardValue", shardValue);
+        return result;
+    }
+
+    /**
+     * 샤딩 카운터 합계 (서브키를 MGET 한 번으로 읽어 합산)
+     * cached=true면 total-cache-ttl 동안 로컬에 보관한 합계를 반환한다.
+     * 숫자가 아닌 서브키 값은 경고 로그를 남기고 합계에서 뺀다.
+     */
+    public long getShardedCount(String key, boolean cached) {
+        if (cached) {
+            Long total = shardedCounterTotals.getIfPresent(key);
+            if (total != null) {
+                return total;
+            }
+        }
+        int shards = shardedCounterProperties.shardsFor(key);
+        byte[][] rawKeys = new byte[shards][];
+        for (int shard = 0; shard < shards; shard++) {
+            rawKeys[shard] = rawKey(shardKey(key, shard));
+        }
+        // INCRBY로 만든 값은 직렬화기를 거치지 않은 숫자 문자열이므로 바이트 그대로 읽는다
+        List<byte[]> values = redisMetrics.record("MGET", key,
+                () -> redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                        connection.stringCommands().mGet(rawKeys)));
+
+        long total = 0;
+        boolean complete = true;
+        if (values != null) {
+            for (int shard = 0; shard < values.size(); shard++) {
+                byte[] value = values.get(shard);
+                if (value == null) {
+                    continue;
+                }
+                try {
+                    total += Long.parseLong(new String(value, StandardCharsets.UTF_8));
+                } catch (NumberFormatException e) {
+                    // 다른 용도로 덮어쓴 서브키 등: 500 대신 해당 샤드만 빼고 합산
+                    complete = false;
+                    log.warn("샤딩 카운터 서브키 값이 숫자가 아니어서 제외 - key: {}, bytes: {}", shardKey(key, shard), value.length);
+                }
+            }
+        }
+        if (complete) {
+            // 일부 샤드를 뺀 합계는 보관하지 않는다
+            shardedCounterTotals.put(key, total);
+        }
+        return total;
+    }
+
+    static String shardKey(String key, int shard) {
+        return key + ":" + shard;
     }
 
     // ==================== List Operations ====================
@@ -59,20 +333,37 @@ public class RedisDataStructureService {
      * List: 순서가 있는 문자열 리스트
      */
     public void pushToList(String key, Object... values) {
-        redisTemplate.opsForList().rightPushAll(key, values);
+        redisMetrics.record("RPUSH", key, () -> redisTemplate.opsForList().rightPushAll(key, values));
         log.debug("List에 추가 - key: {}, values: {}", key, Arrays.toString(values));
     }
 
     public List<Object> getList(String key, long start, long end) {
-        return redisTemplate.opsForList().range(key, start, end);
+        return redisMetrics.record("LRANGE", key, () -> redisTemplate.opsForList().range(key, start, end));
     }
 
     public Object popFromList(String key) {
-        return redisTemplate.opsForList().leftPop(key);
+        return redisMetrics.record("LPOP", key, () -> redisTemplate.opsForList().leftPop(key));
     }
 
     public Long getListSize(String key) {
-        return redisTemplate.opsForList().size(key);
+        return redisMetrics.record("LLEN", key, () -> redisTemplate.opsForList().size(key));
+    }
+
+    /**
+     * List 페이지 조회 (cursor = 시작 인덱스)
+     * 페이지와 전체 길이를 Lua 스크립트로 함께 읽으므로 두 값이 같은 시점의 스냅샷이다.
+     * 인덱스 기반이므로 앞쪽에서 LPOP이 일어나면 다음 페이지가 그만큼 밀린다.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ListPage getListPage(String key, long cursor, int count) {
+        List<Object> result = redisMetrics.record("EVALSHA:LRANGE", key, () -> redisTemplate.execute(
+                LIST_PAGE_SCRIPT, RedisSerializer.string(), (RedisSerializer<List>) redisTemplate.getValueSerializer(),
+                List.of(key), String.valueOf(cursor), String.valueOf(cursor + count - 1)));
+
+        long size = ((Number) result.get(0)).longValue();
+        List<Object> items = (List<Object>) result.get(1);
+        Long nextCursor = cursor + items.size() < size ? cursor + items.size() : null;
+        return new ListPage(size, cursor, nextCursor, items);
     }
 
     // ==================== Set Operations ====================
@@ -81,35 +372,117 @@ public class RedisDataStructureService {
      * Set: 중복이 없는 집합
      */
     public void addToSet(String key, Object... values) {
-        redisTemplate.opsForSet().add(key, values);
+        redisMetrics.record("SADD", key, () -> redisTemplate.opsForSet().add(key, values));
         log.debug("Set에 추가 - key: {}, values: {}", key, Arrays.toString(values));
     }
 
     public Set<Object> getSetMembers(String key) {
-        return redisTemplate.opsForSet().members(key);
+        return redisMetrics.record("SMEMBERS", key, () -> redisTemplate.opsForSet().members(key));
+    }
+
+    /**
+     * Set 멤버 점진 조회 (SSCAN 1회)
+     * SMEMBERS와 달리 큰 Set에서도 서버를 오래 막지 않으며, 반환된 커서로 이어서 조회한다.
+     */
+    public ScanPage<Object> scanSetMembers(String key, String cursor, String match, long count) {
+        byte[] rawKey = rawKey(key);
+        ValueScanCursor<byte[]> result = redisMetrics.record("SSCAN", key,
+                () -> executeNative(commands -> commands.sscan(rawKey, ScanCursor.of(cursor), scanArgs(match, count))));
+
+        List<Object> members = new ArrayList<>(result.getValues().size());
+        for (byte[] rawMember : result.getValues()) {
+            members.add(deserializeValue(rawMember));
+        }
+        return new ScanPage<>(result.getCursor(), members);
     }
 
     public Boolean isMemberOfSet(String key, Object value) {
-        return redisTemplate.opsForSet().isMember(key, value);
+        return redisMetrics.record("SISMEMBER", key, () -> redisTemplate.opsForSet().isMember(key, value));
     }
 
     public Long getSetSize(String key) {
-        return redisTemplate.opsForSet().size(key);
+        return redisMetrics.record("SCARD", key, () -> redisTemplate.opsForSet().size(key));
     }
 
     /**
      * Set 교집합, 합집합, 차집합
      */
     public Set<Object> setIntersect(String key1, String key2) {
-        return redisTemplate.opsForSet().intersect(key1, key2);
+        return setIntersect(List.of(key1, key2));
     }
 
     public Set<Object> setUnion(String key1, String key2) {
-        return redisTemplate.opsForSet().union(key1, key2);
+        return setUnion(List.of(key1, key2));
     }
 
     public Set<Object> setDifference(String key1, String key2) {
-        return redisTemplate.opsForSet().difference(key1, key2);
+        return setDifference(List.of(key1, key2));
+    }
+
+    /**
+     * N개 Set 연산 (차집합은 첫 번째 키에서 나머지를 뺀다)
+     */
+    public Set<Object> setIntersect(List<String> keys) {
+        return redisMetrics.record("SINTER", keys.get(0), () -> redisTemplate.opsForSet().intersect(keys));
+    }
+
+    public Set<Object> setUnion(List<String> keys) {
+        return redisMetrics.record("SUNION", keys.get(0), () -> redisTemplate.opsForSet().union(keys));
+    }
+
+    public Set<Object> setDifference(List<String> keys) {
+        return redisMetrics.record("SDIFF", keys.get(0), () -> redisTemplate.opsForSet().difference(keys));
+    }
+
+    /**
+     * 집합 연산 결과를 서버에 저장 (SINTERSTORE/SUNIONSTORE/SDIFFSTORE + TTL)
+     * 결과 키는 연산과 키 목록으로 정해지므로, 같은 질의는 TTL 동안 저장된 결과를 재사용한다.
+     * 결과 멤버는 JVM으로 가져오지 않으며, 필요하면 결과 키를 SSCAN으로 읽는다.
+     * (Cluster에서는 원본 키와 결과 키가 같은 슬롯이어야 하므로 단일 노드 기준)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SetStoreResult storeSetOperation(SetOperation operation, List<String> keys, Duration ttl, boolean refresh) {
+        String resultKey = setResultKey(operation, keys);
+        List<String> scriptKeys = new ArrayList<>(keys.size() + 1);
+        scriptKeys.add(resultKey);
+        scriptKeys.addAll(keys);
+
+        List<Object> result = redisMetrics.record("EVALSHA:" + operation.getStoreCommand(), keys.get(0),
+                () -> redisTemplate.execute(SET_STORE_SCRIPT, RedisSerializer.string(),
+                        (RedisSerializer<List>) redisTemplate.getValueSerializer(), scriptKeys,
+                        operation.getStoreCommand(), String.valueOf(ttl.toMillis()), refresh ? "1" : "0"));
+
+        boolean cached = ((Number) result.get(0)).longValue() == 1;
+        long cardinality = ((Number) result.get(1)).longValue();
+        long ttlMillis = cardinality > 0 ? ((Number) result.get(2)).longValue() : 0;
+        log.debug("Set 연산 저장 - op: {}, keys: {}, resultKey: {}, size: {}, cached: {}",
+                  operation, keys, resultKey, cardinality, cached);
+        return new SetStoreResult(operation.name(), keys, resultKey, cardinality, cached, ttlMillis);
+    }
+
+    /**
+     * 교집합 크기만 계산 (SINTERCARD, Redis 7.0 이상)
+     * limit > 0이면 그 개수에 도달하는 즉시 계산을 멈춘다. (예: "최소 N명 이상인가?")
+     */
+    public Long setIntersectCard(List<String> keys, long limit) {
+        byte[][] rawKeys = keys.stream().map(this::rawKey).toArray(byte[][]::new);
+        return redisMetrics.record("SINTERCARD", keys.get(0),
+                () -> executeNative(commands -> commands.sintercard(limit, rawKeys)));
+    }
+
+    /**
+     * 결과 키: setop:<연산>:<키 목록 해시>
+     * 교집합/합집합은 순서와 무관하므로 정렬하고, 차집합은 첫 번째 키만 고정한 뒤 나머지를 정렬한다.
+     */
+    static String setResultKey(SetOperation operation, List<String> keys) {
+        List<String> normalized = new ArrayList<>(keys);
+        if (operation == SetOperation.DIFF) {
+            Collections.sort(normalized.subList(1, normalized.size()));
+        } else {
+            Collections.sort(normalized);
+        }
+        String digest = DigestUtils.md5DigestAsHex(String.join("\n", normalized).getBytes(StandardCharsets.UTF_8));
+        return SET_RESULT_PREFIX + operation.name().toLowerCase() + ":" + digest;
     }
 
     // ==================== Sorted Set Operations ====================
@@ -118,7 +491,7 @@ public class RedisDataStructureService {
      * Sorted Set: 점수(score)로 정렬되는 집합
      */
     public void addToSortedSet(String key, Object value, double score) {
-        redisTemplate.opsForZSet().add(key, value, score);
+        redisMetrics.record("ZADD", key, () -> redisTemplate.opsForZSet().add(key, value, score));
         log.debug("Sorted Set에 추가 - key: {}, value: {}, score: {}", key, value, score);
     }
 
@@ -126,28 +499,28 @@ public class RedisDataStructureService {
      * 점수 범위로 조회 (오름차순)
      */
     public Set<Object> getSortedSetRange(String key, long start, long end) {
-        return redisTemplate.opsForZSet().range(key, start, end);
+        return redisMetrics.record("ZRANGE", key, () -> redisTemplate.opsForZSet().range(key, start, end));
     }
 
     /**
      * 점수 범위로 조회 (내림차순)
      */
     public Set<Object> getSortedSetReverseRange(String key, long start, long end) {
-        return redisTemplate.opsForZSet().reverseRange(key, start, end);
+        return redisMetrics.record("ZREVRANGE", key, () -> redisTemplate.opsForZSet().reverseRange(key, start, end));
     }
 
     /**
      * 특정 값의 순위 조회
      */
     public Long getSortedSetRank(String key, Object value) {
-        return redisTemplate.opsForZSet().rank(key, value);
+        return redisMetrics.record("ZRANK", key, () -> redisTemplate.opsForZSet().rank(key, value));
     }
 
     /**
      * 특정 값의 점수 조회
      */
     public Double getSortedSetScore(String key, Object value) {
-        return redisTemplate.opsForZSet().score(key, value);
+        return redisMetrics.record("ZSCORE", key, () -> redisTemplate.opsForZSet().score(key, value));
     }
 
     // ==================== Hash Operations ====================
@@ -156,33 +529,48 @@ public class RedisDataStructureService {
      * Hash: 필드-값 쌍의 맵 (객체 저장에 유용)
      */
     public void setHash(String key, String field, Object value) {
-        redisTemplate.opsForHash().put(key, field, value);
+        redisMetrics.run("HSET", key, () -> redisTemplate.opsForHash().put(key, field, value));
         log.debug("Hash 저장 - key: {}, field: {}, value: {}", key, field, value);
     }
 
     public void setHashAll(String key, Map<String, Object> map) {
-        redisTemplate.opsForHash().putAll(key, map);
+        redisMetrics.run("HMSET", key, () -> redisTemplate.opsForHash().putAll(key, map));
         log.debug("Hash 전체 저장 - key: {}, map size: {}", key, map.size());
     }
 
     public Object getHashField(String key, String field) {
-        return redisTemplate.opsForHash().get(key, field);
+        return redisMetrics.record("HGET", key, () -> redisTemplate.opsForHash().get(key, field));
     }
 
     public Map<Object, Object> getHashAll(String key) {
-        return redisTemplate.opsForHash().entries(key);
+        return redisMetrics.record("HGETALL", key, () -> redisTemplate.opsForHash().entries(key));
+    }
+
+    /**
+     * Hash 필드 점진 조회 (HSCAN 1회)
+     * HGETALL/HKEYS/HVALS 대신 사용하며, 반환된 커서로 이어서 조회한다.
+     */
+    public ScanPage<Map.Entry<Object, Object>> scanHash(String key, String cursor, String match, long count) {
+        byte[] rawKey = rawKey(key);
+        MapScanCursor<byte[], byte[]> result = redisMetrics.record("HSCAN", key,
+                () -> executeNative(commands -> commands.hscan(rawKey, ScanCursor.of(cursor), scanArgs(match, count))));
+
+        List<Map.Entry<Object, Object>> entries = new ArrayList<>(result.getMap().size());
+        result.getMap().forEach((rawField, rawValue) -> entries.add(
+                new AbstractMap.SimpleImmutableEntry<>(deserializeHashKey(rawField), deserializeHashValue(rawValue))));
+        return new ScanPage<>(result.getCursor(), entries);
     }
 
     public Set<Object> getHashKeys(String key) {
-        return redisTemplate.opsForHash().keys(key);
+        return redisMetrics.record("HKEYS", key, () -> redisTemplate.opsForHash().keys(key));
     }
 
     public List<Object> getHashValues(String key) {
-        return redisTemplate.opsForHash().values(key);
+        return redisMetrics.record("HVALS", key, () -> redisTemplate.opsForHash().values(key));
     }
 
     public Boolean hasHashKey(String key, String field) {
-        return redisTemplate.opsForHash().hasKey(key, field);
+        return redisMetrics.record("HEXISTS", key, () -> redisTemplate.opsForHash().hasKey(key, field));
     }
 
     // ==================== HyperLogLog Operations ====================
@@ -192,13 +580,108 @@ public class RedisDataStructureService {
      * 예: 순 방문자 수 추정
      */
     public Long addToHyperLogLog(String key, Object... values) {
-        Long result = redisTemplate.opsForHyperLogLog().add(key, values);
+        Long result = redisMetrics.record("PFADD", key, () -> redisTemplate.opsForHyperLogLog().add(key, values));
         log.debug("HyperLogLog에 추가 - key: {}, values: {}", key, Arrays.toString(values));
         return result;
     }
 
     public Long getHyperLogLogSize(String key) {
-        return redisTemplate.opsForHyperLogLog().size(key);
+        return redisMetrics.record("PFCOUNT", key, () -> redisTemplate.opsForHyperLogLog().size(key));
+    }
+
+    /**
+     * PFADD와 PFCOUNT를 한 번의 왕복으로 실행 ({변경 여부, 추정 개수})
+     */
+    public List<Long> addToHyperLogLogAndCount(String key, Object... values) {
+        byte[] rawKey = rawKey(key);
+        byte[][] rawValues = Arrays.stream(values).map(this::rawValue).toArray(byte[][]::new);
+        List<Object> results = redisMetrics.record("PIPELINE:PFADD", key,
+                () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    connection.hyperLogLogCommands().pfAdd(rawKey, rawValues);
+                    connection.hyperLogLogCommands().pfCount(rawKey);
+                    return null;
+                }));
+        log.debug("HyperLogLog에 추가 - key: {}, values: {}", key, values.length);
+        return results.stream().map(result -> ((Number) result).longValue()).toList();
+    }
+
+    /**
+     * 시간 구간 키: hll:{key}:<단위>:<구간>
+     * {key} 해시 태그로 같은 키의 구간들이 한 슬롯에 모이므로 Cluster에서도 PFCOUNT/PFMERGE를 함께 실행할 수 있다.
+     */
+    public static String hyperLogLogBucketKey(String key, Granularity granularity, String stamp) {
+        return HLL_PREFIX + "{" + key + "}:" + granularity.name().toLowerCase() + ":" + stamp;
+    }
+
+    /**
+     * 이벤트 시각이 속한 구간 키들에 PFADD (단위별 PFADD + PEXPIRE를 파이프라인으로 전송)
+     */
+    public void addToHyperLogLogBuckets(String key, Map<Granularity, Duration> retention, Instant time, Object... values) {
+        byte[][] rawValues = Arrays.stream(values).map(this::rawValue).toArray(byte[][]::new);
+        redisMetrics.run("PIPELINE:PFADD", key, () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            retention.forEach((granularity, ttl) -> {
+                byte[] bucketKey = rawKey(hyperLogLogBucketKey(key, granularity, granularity.stamp(time)));
+                connection.hyperLogLogCommands().pfAdd(bucketKey, rawValues);
+                connection.keyCommands().pExpire(bucketKey, ttl.toMillis());
+            });
+            return null;
+        }));
+    }
+
+    /**
+     * 로컬에서 모은 Redis 형식 HLL을 구간 키에 병합 (SET 임시 키 → PFMERGE → DEL, 한 번의 왕복)
+     */
+    public void mergeHyperLogLogSketch(String bucketKey, byte[] denseSketch, Duration retention) {
+        // 같은 해시 태그를 유지하도록 구간 키 뒤에 붙인다
+        String tmpKey = bucketKey + ":merge:" + UUID.randomUUID();
+        byte[][] keysAndArgs = {rawKey(bucketKey), rawKey(tmpKey), denseSketch,
+                String.valueOf(retention.toMillis()).getBytes(StandardCharsets.UTF_8)};
+        redisMetrics.run("EVAL:PFMERGE", bucketKey, () -> redisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.scriptingCommands().eval(HLL_MERGE_SCRIPT, ReturnType.INTEGER, 2, keysAndArgs)));
+    }
+
+    /**
+     * 최근 구간들의 고유 개수 (현재 구간 포함 last개)
+     * 지난 구간들의 병합 결과(hll:{key}:merged:...)는 merged-cache-ttl 동안 재사용한다.
+     */
+    public Map<String, Object> countHyperLogLogWindow(String key, Granularity granularity, int last,
+                                                      Instant now, Duration mergedCacheTtl) {
+        List<String> stamps = granularity.lastStamps(now, last);
+        String current = hyperLogLogBucketKey(key, granularity, stamps.get(stamps.size() - 1));
+
+        Long count;
+        boolean cached = false;
+        if (stamps.size() == 1) {
+            count = getHyperLogLogSize(current);
+        } else {
+            String mergedKey = HLL_PREFIX + "{" + key + "}:merged:" + granularity.name().toLowerCase() + ":"
+                    + stamps.get(0) + "-" + stamps.get(stamps.size() - 2);
+            List<byte[]> keysAndArgs = new ArrayList<>(stamps.size() + 2);
+            keysAndArgs.add(rawKey(mergedKey));
+            keysAndArgs.add(rawKey(current));
+            for (String stamp : stamps.subList(0, stamps.size() - 1)) {
+                keysAndArgs.add(rawKey(hyperLogLogBucketKey(key, granularity, stamp)));
+            }
+            int numKeys = keysAndArgs.size();
+            keysAndArgs.add(String.valueOf(mergedCacheTtl.toMillis()).getBytes(StandardCharsets.UTF_8));
+
+            List<Object> result = redisMetrics.record("EVAL:PFCOUNT", key,
+                    () -> redisTemplate.execute((RedisCallback<List<Object>>) connection ->
+                            connection.scriptingCommands().eval(HLL_WINDOW_SCRIPT, ReturnType.MULTI, numKeys,
+                                    keysAndArgs.toArray(new byte[0][]))));
+            count = ((Number) result.get(0)).longValue();
+            cached = ((Number) result.get(1)).longValue() == 1;
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("key", key);
+        response.put("granularity", granularity);
+        response.put("from", stamps.get(0));
+        response.put("to", stamps.get(stamps.size() - 1));
+        response.put("buckets", stamps.size());
+        response.put("uniqueCount", count);
+        response.put("mergedCached", cached);
+        return response;
     }
 
     // ==================== Geo Operations ====================
@@ -207,17 +690,84 @@ public class RedisDataStructureService {
      * Geo: 지리적 위치 데이터 저장 및 검색
      */
     public void addGeoLocation(String key, double longitude, double latitude, String member) {
-        redisTemplate.opsForGeo().add(key, new Point(longitude, latitude), member);
+        redisMetrics.record("GEOADD", key, () -> redisTemplate.opsForGeo().add(key, new Point(longitude, latitude), member));
         log.debug("Geo 위치 추가 - key: {}, member: {}, lon: {}, lat: {}", 
                   key, member, longitude, latitude);
     }
 
+    /**
+     * 여러 위치를 청크 단위의 다중 멤버 GEOADD로 저장
+     * 같은 멤버가 여러 번 오면 마지막 좌표만 사용하고, pipelined=true면 모든 청크를 한 번의 왕복으로 전송
+     */
+    public GeoBatchResult addGeoLocations(String key, List<Location> locations, int chunkSize, boolean pipelined) {
+        Map<Object, Point> members = new LinkedHashMap<>();
+        for (Location location : locations) {
+            members.put(location.getName(), new Point(location.getLongitude(), location.getLatitude()));
+        }
+
+        List<Map<Object, Point>> chunks = new ArrayList<>();
+        Map<Object, Point> current = new LinkedHashMap<>();
+        for (Map.Entry<Object, Point> entry : members.entrySet()) {
+            current.put(entry.getKey(), entry.getValue());
+            if (current.size() == chunkSize) {
+                chunks.add(current);
+                current = new LinkedHashMap<>();
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+
+        GeoBatchResult result = new GeoBatchResult();
+        result.setRequested(locations.size());
+        result.setDistinctMembers(members.size());
+        result.setChunkSize(chunkSize);
+        result.setPipelined(pipelined);
+
+        long start = System.nanoTime();
+        if (pipelined) {
+            byte[] rawKey = rawKey(key);
+            List<Double> enqueueMillis = new ArrayList<>();
+            List<Object> replies = redisMetrics.record("PIPELINE:GEOADD", key,
+                    () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Map<Object, Point> chunk : chunks) {
+                    long chunkStart = System.nanoTime();
+                    Map<byte[], Point> rawMembers = new LinkedHashMap<>();
+                    chunk.forEach((member, point) -> rawMembers.put(rawValue(member), point));
+                    connection.geoCommands().geoAdd(rawKey, rawMembers);
+                    enqueueMillis.add(elapsedMillis(chunkStart));
+                }
+                return null;
+            }));
+            for (int i = 0; i < chunks.size(); i++) {
+                long added = replies.get(i) instanceof Number n ? n.longValue() : 0L;
+                result.getChunks().add(new GeoBatchResult.ChunkTiming(i, chunks.get(i).size(), added, null, enqueueMillis.get(i)));
+            }
+        } else {
+            for (int i = 0; i < chunks.size(); i++) {
+                long chunkStart = System.nanoTime();
+                Map<Object, Point> chunk = chunks.get(i);
+                Long added = redisMetrics.record("GEOADD", key, () -> redisTemplate.opsForGeo().add(key, chunk));
+                result.getChunks().add(new GeoBatchResult.ChunkTiming(i, chunks.get(i).size(),
+                        added != null ? added : 0L, elapsedMillis(chunkStart), null));
+            }
+        }
+        result.setTotalMillis(elapsedMillis(start));
+
+        long added = result.getChunks().stream().mapToLong(GeoBatchResult.ChunkTiming::getAdded).sum();
+        result.setAdded(added);
+        result.setExisting(members.size() - added);
+        log.debug("Geo 일괄 저장 - key: {}, members: {}, chunks: {}, pipelined: {}, added: {}",
+                  key, members.size(), chunks.size(), pipelined, added);
+        return result;
+    }
+
     /**
      * 두 지점 간의 거리 계산
      */
     public Distance getDistance(String key, String member1, String member2) {
-        return redisTemplate.opsForGeo().distance(key, member1, member2, 
-                                                  RedisGeoCommands.DistanceUnit.KILOMETERS);
+        return redisMetrics.record("GEODIST", key, () -> redisTemplate.opsForGeo().distance(key, member1, member2,
+                                                  RedisGeoCommands.DistanceUnit.KILOMETERS));
     }
 
     /**
@@ -236,7 +786,7 @@ public class RedisDataStructureService {
                 .sortAscending()
                 .limit(10);
         
-        return redisTemplate.opsForGeo().radius(key, circle, args);
+        return redisMetrics.record("GEORADIUS", key, () -> redisTemplate.opsForGeo().radius(key, circle, args));
     }
 
     /**
@@ -252,8 +802,8 @@ public class RedisDataStructureService {
                 .sortAscending()
                 .limit(10);
         
-        return redisTemplate.opsForGeo().radius(key, member, 
-                                               new Distance(radius, Metrics.KILOMETERS), args);
+        return redisMetrics.record("GEORADIUSBYMEMBER", key, () -> redisTemplate.opsForGeo().radius(key, member,
+                                               new Distance(radius, Metrics.KILOMETERS), args));
     }
 
     // ==================== Common Operations ====================
@@ -262,28 +812,114 @@ public class RedisDataStructureService {
      * 키 삭제
      */
     public Boolean deleteKey(String key) {
-        return redisTemplate.delete(key);
+        Boolean deleted = redisMetrics.record("DEL", key, () -> redisTemplate.delete(key));
+        nearCacheService.invalidate(NearCacheService.REGION_STRING, key);
+        return deleted;
     }
 
     /**
      * 키 존재 여부 확인
      */
     public Boolean hasKey(String key) {
-        return redisTemplate.hasKey(key);
+        return redisMetrics.record("EXISTS", key, () -> redisTemplate.hasKey(key));
     }
 
     /**
      * TTL 설정
      */
     public Boolean expire(String key, long timeout, TimeUnit unit) {
-        return redisTemplate.expire(key, timeout, unit);
+        Boolean result = redisMetrics.record("EXPIRE", key, () -> redisTemplate.expire(key, timeout, unit));
+        nearCacheService.invalidate(NearCacheService.REGION_STRING, key);
+        return result;
     }
 
     /**
      * TTL 조회 (초 단위)
      */
     public Long getExpire(String key) {
-        return redisTemplate.getExpire(key, TimeUnit.SECONDS);
+        return redisMetrics.record("TTL", key, () -> redisTemplate.getExpire(key, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 키 패턴 검색 (SCAN 1회)
+     * KEYS와 달리 서버를 오래 막지 않고, 호출마다 COUNT 힌트만큼만 훑는다.
+     * 반환된 커서를 다음 호출에 넘기면 이어서 순회하며, "0"이 오면 끝이다.
+     *
+     * Spring Data의 Cursor는 임의의 커서에서 다시 시작할 수 없으므로 Lettuce 명령을 직접 사용한다.
+     * (단일 노드 기준, 클러스터에서는 노드별 커서가 따로 필요)
+     */
+    public ScanPage<String> scanKeys(String cursor, String match, long count, DataType type) {
+        KeyScanArgs args = new KeyScanArgs();
+        args.match(match);
+        args.limit(count);
+        if (type != null) {
+            args.type(type.code());
+        }
+
+        KeyScanCursor<byte[]> result = redisMetrics.record("SCAN", match,
+                () -> executeNative(commands -> commands.scan(ScanCursor.of(cursor), args)));
+
+        List<String> keys = new ArrayList<>(result.getKeys().size());
+        for (byte[] rawKey : result.getKeys()) {
+            keys.add(deserializeKey(rawKey));
+        }
+        log.debug("SCAN - cursor: {}, match: {}, count: {}, found: {}", cursor, match, count, keys.size());
+        return new ScanPage<>(result.getCursor(), keys);
+    }
+
+    /**
+     * Lettuce 명령을 직접 실행 (SCAN 계열처럼 Spring Data가 커서를 노출하지 않는 명령용)
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T executeNative(Function<RedisClusterAsyncCommands<byte[], byte[]>, RedisFuture<T>> command) {
+        return redisTemplate.execute((RedisCallback<T>) connection -> {
+            RedisClusterAsyncCommands<byte[], byte[]> commands =
+                    (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            return LettuceFutures.awaitOrCancel(command.apply(commands), SCAN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        });
+    }
+
+    private static ScanArgs scanArgs(String match, long count) {
+        ScanArgs args = new ScanArgs();
+        args.match(match);
+        args.limit(count);
+        return args;
+    }
+
+    // ==================== Serialization Helpers ====================
+
+    /**
+     * 파이프라인(RedisCallback)에서 사용할 원시 바이트 변환
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String deserializeKey(byte[] rawKey) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).deserialize(rawKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawValue(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+
+    private Object deserializeValue(byte[] rawValue) {
+        return redisTemplate.getValueSerializer().deserialize(rawValue);
+    }
+
+    private Object deserializeHashKey(byte[] rawField) {
+        return redisTemplate.getHashKeySerializer().deserialize(rawField);
+    }
+
+    private Object deserializeHashValue(byte[] rawValue) {
+        return redisTemplate.getHashValueSerializer().deserialize(rawValue);
+    }
+
+    private static double elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
     }
 }
 
@@ -0,0 +1,117 @@
+package com.example.redistest.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Redis 명령 지연 시간 측정
+ *
+ * redis.command 타이머: 명령 종류(command)와 키 접두사(prefix) 태그, p50/p99/p999 + 히스토그램
+ * 직렬화 + 네트워크(TLS) + 서버 처리 시간을 모두 포함한다.
+ * Lettuce가 기록하는 lettuce.command.firstresponse(서버 왕복만)와 비교하면 어느 구간이 느린지 알 수 있다.
+ *
+ * HTTP 요청 안에서 호출되면 요청별 Redis 왕복 횟수도 센다. (RedisRoundTripFilter)
+ * 파이프라인은 명령 수와 관계없이 1회 왕복으로 센다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisMetrics {
+
+    public static final String COMMAND_TIMER = "redis.command";
+
+    private static final int MAX_PREFIXES = 100;
+    private static final String OTHER = "(other)";
+    private static final ThreadLocal<int[]> ROUND_TRIPS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Set<String> prefixes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 값을 반환하는 Redis 호출 측정
+     */
+    public <T> T record(String command, String key, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            stop(command, key, start);
+        }
+    }
+
+    /**
+     * 반환값이 없는 Redis 호출 측정
+     */
+    public void run(String command, String key, Runnable call) {
+        long start = System.nanoTime();
+        try {
+            call.run();
+        } finally {
+            stop(command, key, start);
+        }
+    }
+
+    /**
+     * 현재 스레드에서 요청별 왕복 횟수 집계 시작
+     */
+    public static void beginRequest() {
+        ROUND_TRIPS.set(new int[1]);
+    }
+
+    /**
+     * 집계를 끝내고 왕복 횟수를 반환
+     */
+    public static int endRequest() {
+        int[] counter = ROUND_TRIPS.get();
+        ROUND_TRIPS.remove();
+        return counter != null ? counter[0] : 0;
+    }
+
+    /**
+     * 키의 첫 번째 ':' 앞부분 (예: product:1 → product)
+     * 태그 종류가 너무 많아지지 않도록 상한을 넘으면 (other)로 묶는다.
+     */
+    static String prefix(String key) {
+        if (key == null) {
+            return "(none)";
+        }
+        int separator = key.indexOf(':');
+        return separator > 0 ? key.substring(0, separator) : "(none)";
+    }
+
+    private void stop(String command, String key, long startNanos) {
+        timer(command, key).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        int[] counter = ROUND_TRIPS.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+    }
+
+    private Timer timer(String command, String key) {
+        String prefix = prefix(key);
+        if (!prefixes.contains(prefix)) {
+            if (prefixes.size() >= MAX_PREFIXES) {
+                prefix = OTHER;
+            } else {
+                prefixes.add(prefix);
+            }
+        }
+        String prefixTag = prefix;
+        return timers.computeIfAbsent(command + '|' + prefixTag, id -> Timer.builder(COMMAND_TIMER)
+                .description("Redis 명령 지연 시간 (직렬화 포함)")
+                .tag("command", command)
+                .tag("prefix", prefixTag)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.redistest.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 요청 병합 (Single-Flight)
+ * 같은 키에 대한 캐시 미스가 동시에 발생하면 하나의 로더만 실행하고
+ * 나머지 호출자는 그 결과를 기다린다. (캐시 스탬피드 방지)
+ *
+ * 분산 모드에서는 Redis 리스(SET NX PX)를 획득한 노드만 로더를 실행하고,
+ * 다른 노드는 캐시가 채워질 때까지 짧게 폴링한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestCoalescer implements MeterBinder {
+
+    private static final String LEASE_PREFIX = "lease:";
+
+    /**
+     * 본인이 잡은 리스만 해제 (토큰 비교 후 삭제)
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMetrics redisMetrics;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder leasesAcquired = new LongAdder();
+    private final LongAdder leaseWaitHits = new LongAdder();
+    private final LongAdder leaseTimeouts = new LongAdder();
+    private final LongAdder leasesLost = new LongAdder();
+
+    /**
+     * JVM 내 요청 병합: 키당 하나의 로더만 실행
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            log.debug("요청 병합 - key: {}", key);
+            return (T) await(existing);
+        }
+
+        leaders.increment();
+        try {
+            T value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 분산 요청 병합: JVM 내 병합 후, Redis 리스를 잡은 노드만 로더 실행
+     *
+     * @param cacheLookup  리스를 놓친 노드가 폴링할 캐시 조회 함수
+     * @param leaseTtl     리스 유지 시간 (로더가 이보다 오래 걸리면 다른 노드도 로드)
+     * @param pollInterval 캐시 폴링 간격
+     */
+    public <T> T loadWithLease(String key, Supplier<Optional<T>> cacheLookup, Supplier<T> loader,
+                               Duration leaseTtl, Duration pollInterval) {
+        return load(key, () -> {
+            String leaseKey = LEASE_PREFIX + key;
+            String token = UUID.randomUUID().toString();
+            if (tryAcquire(leaseKey, token, leaseTtl)) {
+                return loadHoldingLease(leaseKey, token, loader);
+            }
+
+            long deadline = System.nanoTime() + leaseTtl.toNanos();
+            while (System.nanoTime() < deadline) {
+                sleep(pollInterval);
+                Optional<T> cached = cacheLookup.get();
+                if (cached.isPresent()) {
+                    leaseWaitHits.increment();
+                    return cached.get();
+                }
+                // 리스가 풀렸는데 캐시가 비어 있으면 보유 노드가 실패했거나 캐시하지 않은 것이므로 더 기다리지 않는다
+                if (!leaseExists(leaseKey)) {
+                    leasesLost.increment();
+                    if (tryAcquire(leaseKey, token, leaseTtl)) {
+                        return loadHoldingLease(leaseKey, token, loader);
+                    }
+                }
+            }
+            leaseTimeouts.increment();
+            log.debug("리스 대기 시간 초과, 직접 로드 - key: {}", key);
+            return loader.get();
+        });
+    }
+
+    private <T> T loadHoldingLease(String leaseKey, String token, Supplier<T> loader) {
+        leasesAcquired.increment();
+        try {
+            return loader.get();
+        } finally {
+            release(leaseKey, token);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("inFlight", inFlight.size());
+        stats.put("leaders", leaders.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("leasesAcquired", leasesAcquired.sum());
+        stats.put("leaseWaitHits", leaseWaitHits.sum());
+        stats.put("leaseTimeouts", leaseTimeouts.sum());
+        stats.put("leasesLost", leasesLost.sum());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("coalescer.inflight", inFlight, Map::size).register(registry);
+        FunctionCounter.builder("coalescer.calls", leaders, LongAdder::sum).tag("role", "leader").register(registry);
+        FunctionCounter.builder("coalescer.calls", coalesced, LongAdder::sum).tag("role", "coalesced").register(registry);
+        FunctionCounter.builder("coalescer.leases", leasesAcquired, LongAdder::sum).tag("result", "acquired").register(registry);
+        FunctionCounter.builder("coalescer.leases", leaseWaitHits, LongAdder::sum).tag("result", "wait_hit").register(registry);
+        FunctionCounter.builder("coalescer.leases", leaseTimeouts, LongAdder::sum).tag("result", "timeout").register(registry);
+        FunctionCounter.builder("coalescer.leases", leasesLost, LongAdder::sum).tag("result", "lost").register(registry);
+    }
+
+    private boolean tryAcquire(String leaseKey, String token, Duration leaseTtl) {
+        try {
+            return Boolean.TRUE.equals(redisMetrics.record("SETNX", leaseKey,
+                    () -> stringRedisTemplate.opsForValue().setIfAbsent(leaseKey, token, leaseTtl)));
+        } catch (DataAccessException e) {
+            // Redis 장애 시에는 리스 없이 로드 (JVM 내 병합은 유지)
+            log.warn("리스 획득 실패 - key: {}, error: {}", leaseKey, e.getMessage());
+            return true;
+        }
+    }
+
+    private boolean leaseExists(String leaseKey) {
+        try {
+            return Boolean.TRUE.equals(redisMetrics.record("EXISTS", leaseKey, () -> stringRedisTemplate.hasKey(leaseKey)));
+        } catch (DataAccessException e) {
+            // Redis 장애 시에는 더 기다려도 캐시가 채워지지 않으므로 직접 로드한다
+            log.warn("리스 확인 실패 - key: {}, error: {}", leaseKey, e.getMessage());
+            return false;
+        }
+    }
+
+    private void release(String leaseKey, String token) {
+        try {
+            redisMetrics.record("EVALSHA", leaseKey,
+                    () -> stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token));
+        } catch (DataAccessException e) {
+            log.warn("리스 해제 실패 - key: {}, error: {}", leaseKey, e.getMessage());
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("리스 대기 중 인터럽트", e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.redistest.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis와 같은 방식으로 계산하는 로컬 HyperLogLog 스케치
+ *
+ * 해시(MurmurHash64A, seed 0xadc83b19), 레지스터 수(2^14), 레지스터 선택/런 길이 계산이 Redis hyperloglog.c와 같으므로
+ * Redis dense 형식("HYLL" 헤더 + 6비트 레지스터)으로 내보낸 값을 PFMERGE 하면
+ * 같은 멤버를 PFADD 한 것과 같은 레지스터가 된다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화한다.
+ */
+public class HllSketch {
+
+    private static final int P = 14;
+    private static final int REGISTERS = 1 << P;
+    private static final int Q = 64 - P;
+    private static final int BITS = 6;
+    private static final int HEADER_SIZE = 16;
+    private static final int DENSE_SIZE = HEADER_SIZE + (REGISTERS * BITS + 7) / 8;
+    private static final long SEED = 0xadc83b19L;
+    private static final long M = 0xc6a4a7935bd1e995L;
+    private static final int R = 47;
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    /**
+     * 멤버 추가 (Redis에 보내는 것과 같은 직렬화 바이트를 넘겨야 한다)
+     * @return 레지스터가 바뀌었으면 true
+     */
+    public boolean add(byte[] element) {
+        long hash = murmurHash64A(element);
+        int index = (int) (hash & (REGISTERS - 1));
+        hash >>>= P;
+        hash |= 1L << Q;
+        int count = Long.numberOfTrailingZeros(hash) + 1;
+        if (count > registers[index]) {
+            registers[index] = (byte) count;
+            return true;
+        }
+        return false;
+    }
+
+    public void merge(HllSketch other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Redis dense 형식으로 직렬화 (SET 후 PFMERGE 할 수 있는 값)
+     * 카디널리티 캐시는 무효 표시를 해 두어 Redis가 다시 계산하게 한다.
+     */
+    public byte[] toRedisDense() {
+        byte[] dense = new byte[DENSE_SIZE];
+        byte[] magic = "HYLL".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(magic, 0, dense, 0, magic.length);
+        dense[4] = 0;                 // encoding: dense
+        dense[15] = (byte) (1 << 7);  // 카디널리티 캐시 무효
+        for (int i = 0; i < REGISTERS; i++) {
+            int value = registers[i];
+            if (value == 0) {
+                continue;
+            }
+            int bitOffset = i * BITS;
+            int index = HEADER_SIZE + bitOffset / 8;
+            int shift = bitOffset & 7;
+            dense[index] |= (byte) (value << shift);
+            if (shift > 8 - BITS) {
+                dense[index + 1] |= (byte) (value >>> (8 - shift));
+            }
+        }
+        return dense;
+    }
+
+    static long murmurHash64A(byte[] data) {
+        int length = data.length;
+        long h = SEED ^ (length * M);
+        int blocks = length - (length & 7);
+
+        for (int i = 0; i < blocks; i += 8) {
+            long k = (data[i] & 0xFFL)
+                    | (data[i + 1] & 0xFFL) << 8
+                    | (data[i + 2] & 0xFFL) << 16
+                    | (data[i + 3] & 0xFFL) << 24
+                    | (data[i + 4] & 0xFFL) << 32
+                    | (data[i + 5] & 0xFFL) << 40
+                    | (data[i + 6] & 0xFFL) << 48
+                    | (data[i + 7] & 0xFFL) << 56;
+            k *= M;
+            k ^= k >>> R;
+            k *= M;
+            h ^= k;
+            h *= M;
+        }
+
+        int remaining = length & 7;
+        if (remaining > 0) {
+            for (int i = remaining - 1; i >= 0; i--) {
+                h ^= (data[blocks + i] & 0xFFL) << (8 * i);
+            }
+            h *= M;
+        }
+
+        h ^= h >>> R;
+        h *= M;
+        h ^= h >>> R;
+        return h;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.redistest.util;
+
+import com.example.redistest.dto.ScanPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * NDJSON(줄 단위 JSON) 스트리밍 출력
+ * 한 줄에 JSON 객체 하나를 쓰고, flush() 시점에 클라이언트로 전송한다.
+ * 전체 결과를 메모리에 모으지 않으므로 결과 크기와 관계없이 메모리 사용량이 일정하다.
+ */
+public class NdjsonWriter implements Flushable {
+
+    public static final MediaType MEDIA_TYPE = MediaType.APPLICATION_NDJSON;
+
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectWriter writer;
+    private final OutputStream out;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream out) {
+        // 들여쓰기가 켜져 있으면 한 줄 형식이 깨지므로 항상 끈다
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.out = out;
+    }
+
+    public void write(Object value) throws IOException {
+        out.write(writer.writeValueAsBytes(value));
+        out.write(NEWLINE);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * SCAN 계열 명령을 커서가 0이 될 때까지(또는 limit까지) 반복하며 결과를 스트리밍
+     * 페이지마다 {"cursor": ...} 체크포인트를 쓰고 전송하므로, 중단되면 마지막 커서부터 이어서 조회할 수 있다.
+     * 마지막 줄: {"cursor", "finished", "count", "scans"}
+     *
+     * @param fetch  커서를 받아 SCAN 1회를 실행하는 함수
+     * @param toLine 항목을 한 줄 JSON 객체로 바꾸는 함수
+     * @param limit  최대 항목 수 (0: 제한 없음, 페이지 단위로 끊으므로 조금 넘을 수 있음)
+     */
+    public <T> void writeScan(String cursor, long limit, Function<String, ScanPage<T>> fetch,
+                              Function<T, Object> toLine) throws IOException {
+        long count = 0;
+        long scans = 0;
+        String next = cursor;
+        do {
+            ScanPage<T> page = fetch.apply(next);
+            scans++;
+            for (T item : page.getItems()) {
+                write(toLine.apply(item));
+            }
+            count += page.getItems().size();
+            next = page.getCursor();
+            if (!page.isFinished()) {
+                write(Map.of("cursor", next));
+            }
+            flush();
+        } while (!"0".equals(next) && (limit <= 0 || count < limit));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("cursor", next);
+        summary.put("finished", "0".equals(next));
+        summary.put("count", count);
+        summary.put("scans", scans);
+        write(summary);
+        flush();
+    }
+
+    /**
+     * SCAN 커서 값 검증 (부호 없는 64비트 정수 문자열)
+     * Character.isDigit은 전각/아랍 숫자도 통과시키므로 ASCII 숫자만 허용하고, 범위를 넘는 값은 거절한다.
+     */
+    public static boolean isValidCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < cursor.length(); i++) {
+            char c = cursor.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        try {
+            Long.parseUnsignedLong(cursor);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
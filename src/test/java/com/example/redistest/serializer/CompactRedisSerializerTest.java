@@ -0,0 +1,153 @@
+package com.example.redistest.serializer;
+
+import com.example.redistest.entity.Product;
+import com.example.redistest.model.Location;
+import com.example.redistest.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 컴팩트 형식(0xFE) 왕복과 기존 JSON 값 읽기
+ * fallback은 RedisConfig와 같은 JSON 직렬화기를 쓴다.
+ */
+class CompactRedisSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(json);
+
+    @Test
+    void roundTripsStringsAndNumbers() {
+        List<Object> values = List.of("", "hello", "상품 캐시 🚀",
+                0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                0L, 300L, -300L, Long.MAX_VALUE, Long.MIN_VALUE,
+                0.0, -1.5, Math.PI, Double.MAX_VALUE, Double.NaN,
+                true, false,
+                new BigDecimal("0"), new BigDecimal("12345.67"), new BigDecimal("-0.001"),
+                new BigDecimal("123456789012345678901234567890.123456789"));
+
+        for (Object value : values) {
+            byte[] bytes = serializer.serialize(value);
+            assertThat(bytes[0]).as("magic of %s", value).isEqualTo(CompactRedisSerializer.MAGIC);
+            assertThat(serializer.deserialize(bytes)).as("round trip of %s", value).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void roundTripsUserAndLocation() {
+        User user = new User("user:1", "홍길동", "hong@example.com", 30);
+        User withNulls = new User("user:2", null, null, 0);
+        Location location = new Location("서울", 126.9780, 37.5665);
+
+        assertThat(serializer.deserialize(serializer.serialize(user))).isEqualTo(user);
+        assertThat(serializer.deserialize(serializer.serialize(withNulls))).isEqualTo(withNulls);
+        assertThat(serializer.deserialize(serializer.serialize(location))).isEqualTo(location);
+    }
+
+    @Test
+    void roundTripsProduct() {
+        Product product = new Product();
+        product.setId(42L);
+        product.setName("노트북");
+        product.setDescription("15인치, 16GB RAM");
+        product.setPrice(new BigDecimal("1299000.00"));
+        product.setStock(7);
+        product.setCategory("전자제품");
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_789));
+        product.setUpdatedAt(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1));
+
+        Product empty = new Product();
+        empty.setStock(null);
+
+        assertThat(serializer.deserialize(serializer.serialize(product))).isEqualTo(product);
+        assertThat(serializer.deserialize(serializer.serialize(empty))).isEqualTo(empty);
+    }
+
+    @Test
+    void isSmallerThanJson() {
+        User user = new User("user:1", "홍길동", "hong@example.com", 30);
+
+        assertThat(serializer.serialize(user).length).isLessThan(json.serialize(user).length);
+    }
+
+    @Test
+    void readsValuesWrittenAsJson() {
+        User user = new User("user:1", "홍길동", "hong@example.com", 30);
+        Location location = new Location("부산", 129.0756, 35.1796);
+
+        assertThat(serializer.deserialize(json.serialize(user))).isEqualTo(user);
+        assertThat(serializer.deserialize(json.serialize(location))).isEqualTo(location);
+        assertThat(serializer.deserialize(json.serialize("legacy"))).isEqualTo("legacy");
+    }
+
+    @Test
+    void readsProductsWrittenAsJson() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Jackson2JsonRedisSerializer<Product> productJson = new Jackson2JsonRedisSerializer<>(objectMapper, Product.class);
+        CompactRedisSerializer productSerializer = new CompactRedisSerializer(productJson);
+
+        Product product = new Product(1L, "키보드", null, new BigDecimal("59000.00"), 3, "주변기기",
+                LocalDateTime.of(2024, 5, 1, 10, 0), LocalDateTime.of(2024, 5, 2, 11, 30));
+
+        assertThat(productSerializer.deserialize(productJson.serialize(product))).isEqualTo(product);
+        assertThat(productSerializer.deserialize(productSerializer.serialize(product))).isEqualTo(product);
+    }
+
+    @Test
+    void jsonWriterStillReadsCompactValues() {
+        // 롤링 전환 중 json 노드가 compact 노드가 쓴 값을 읽는 경우
+        CompactRedisSerializer jsonWriter = new CompactRedisSerializer(json, false);
+        User user = new User("user:1", "홍길동", "hong@example.com", 30);
+
+        assertThat(jsonWriter.serialize(user)).isEqualTo(json.serialize(user));
+        assertThat(jsonWriter.deserialize(serializer.serialize(user))).isEqualTo(user);
+        assertThat(serializer.deserialize(jsonWriter.serialize(user))).isEqualTo(user);
+    }
+
+    @Test
+    void storesUnknownTypesAsJson() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("count", 3);
+        value.put("name", "기타");
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes[0]).isNotEqualTo(CompactRedisSerializer.MAGIC);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void handlesEmptyValues() {
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+
+    @Test
+    void rejectsTruncatedOrUnknownData() {
+        byte[] bytes = serializer.serialize(new User("user:1", "홍길동", "hong@example.com", 30));
+
+        assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length - 3)))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> serializer.deserialize(new byte[]{CompactRedisSerializer.MAGIC}))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> serializer.deserialize(new byte[]{CompactRedisSerializer.MAGIC, 99}))
+                .isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.redistest.serializer;
+
+import com.example.redistest.entity.Product;
+import com.example.redistest.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LZ4 압축 형식(0xFD) 왕복, 임계값 처리, 압축 전에 저장된 값 읽기
+ */
+class CompressingRedisSerializerTest {
+
+    private static final int THRESHOLD = 256;
+
+    private final CompressionStats stats = new CompressionStats();
+    private final RedisSerializer<String> strings = RedisSerializer.string();
+    private final CompressingRedisSerializer<String> serializer = new CompressingRedisSerializer<>(strings, THRESHOLD, stats);
+
+    @Test
+    void storesValuesBelowThresholdAsIs() {
+        String value = "a".repeat(THRESHOLD - 1);
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes).isEqualTo(strings.serialize(value));
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void compressesValuesAboveThreshold() {
+        String value = "상품 설명 반복 ".repeat(200);
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes[0]).isEqualTo(CompressingRedisSerializer.HEADER);
+        assertThat(bytes.length).isLessThan(strings.serialize(value).length);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void compressesValueExactlyAtThreshold() {
+        String value = "b".repeat(THRESHOLD);
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes[0]).isEqualTo(CompressingRedisSerializer.HEADER);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void storesIncompressibleValuesAsIs() {
+        // 반복이 없는 값은 LZ4로 줄어들지 않으므로 원본 그대로 저장된다
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < THRESHOLD * 4; i++) {
+            builder.append((char) ('!' + random.nextInt(94)));
+        }
+        String value = builder.toString();
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes).isEqualTo(strings.serialize(value));
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void readsValuesWrittenBeforeCompressionWasEnabled() {
+        String value = "x".repeat(THRESHOLD * 4);
+
+        assertThat(serializer.deserialize(strings.serialize(value))).isEqualTo(value);
+    }
+
+    @Test
+    void wrapsCompactAndJsonSerializers() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        CompressingRedisSerializer<Object> compactCompressed =
+                new CompressingRedisSerializer<>(new CompactRedisSerializer(json), THRESHOLD, stats);
+        CompressingRedisSerializer<Object> jsonCompressed = new CompressingRedisSerializer<>(json, THRESHOLD, stats);
+
+        Product product = new Product(1L, "모니터", "27인치 QHD ".repeat(40), new BigDecimal("329000.00"), 12, "전자제품",
+                LocalDateTime.of(2024, 3, 1, 9, 0), LocalDateTime.of(2024, 3, 2, 18, 30, 15, 500_000_000));
+        User user = new User("user:1", "홍길동", "hong@example.com", 30);
+
+        byte[] compressedProduct = compactCompressed.serialize(product);
+        assertThat(compressedProduct[0]).isEqualTo(CompressingRedisSerializer.HEADER);
+        assertThat(compactCompressed.deserialize(compressedProduct)).isEqualTo(product);
+
+        // 임계값보다 작은 값은 안쪽 형식 그대로 (컴팩트 0xFE, JSON '{')
+        byte[] compactUser = compactCompressed.serialize(user);
+        assertThat(compactUser[0]).isEqualTo(CompactRedisSerializer.MAGIC);
+        assertThat(compactCompressed.deserialize(compactUser)).isEqualTo(user);
+
+        byte[] jsonUser = jsonCompressed.serialize(user);
+        assertThat(jsonUser[0]).isEqualTo((byte) '{');
+        assertThat(jsonCompressed.deserialize(jsonUser)).isEqualTo(user);
+
+        // JSON으로만 저장돼 있던 값도 컴팩트 + 압축 직렬화기로 읽을 수 있다
+        assertThat(compactCompressed.deserialize(json.serialize(user))).isEqualTo(user);
+    }
+
+    @Test
+    void nodeWithCompressionOffStillReadsCompressedValues() {
+        // 압축 설정이 다른 노드가 섞인 롤링 배포
+        CompressingRedisSerializer<String> readOnly = new CompressingRedisSerializer<>(strings, THRESHOLD, stats, false);
+        String value = "d".repeat(THRESHOLD * 4);
+
+        assertThat(readOnly.serialize(value)).isEqualTo(strings.serialize(value));
+        assertThat(readOnly.deserialize(serializer.serialize(value))).isEqualTo(value);
+        assertThat(serializer.deserialize(readOnly.serialize(value))).isEqualTo(value);
+    }
+
+    @Test
+    void attributesStatsToTheKeyPrefixOnce() {
+        KeyPrefixTrackingSerializer keys = new KeyPrefixTrackingSerializer();
+        String value = "e".repeat(THRESHOLD * 4);
+
+        keys.serialize("product:1");
+        byte[] bytes = serializer.serialize(value);
+        keys.serialize("product:1");
+        serializer.deserialize(bytes);
+        // 키 없이 처리된 값은 이전 키로 집계하지 않는다
+        serializer.deserialize(bytes);
+
+        assertThat(stats.snapshot().get("product").get("compressed")).isEqualTo(1L);
+        assertThat(stats.snapshot().get("product").get("decompressed")).isEqualTo(1L);
+        assertThat(stats.snapshot().get("(unknown)").get("decompressed")).isEqualTo(1L);
+    }
+
+    @Test
+    void handlesEmptyValues() {
+        assertThat(serializer.serialize(null)).isNull();
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    @Test
+    void rejectsTruncatedData() {
+        byte[] bytes = serializer.serialize("c".repeat(THRESHOLD * 4));
+
+        assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, 3)))
+                .isInstanceOf(SerializationException.class);
+        // 헤더만 있고 LZ4 블록이 없는 값
+        assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, 5)))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void rejectsImplausibleOriginalLength() {
+        byte[] bytes = serializer.serialize("f".repeat(THRESHOLD * 4));
+
+        byte[] negative = bytes.clone();
+        negative[1] = (byte) 0x80;
+        assertThatThrownBy(() -> serializer.deserialize(negative))
+                .isInstanceOf(SerializationException.class);
+
+        // 압축 크기에 비해 너무 큰 원본 길이 (최대 압축률 초과, 큰 배열을 할당하지 않아야 한다)
+        byte[] huge = bytes.clone();
+        huge[1] = (byte) 0x7F;
+        huge[2] = (byte) 0xFF;
+        assertThatThrownBy(() -> serializer.deserialize(huge))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("원본 길이");
+    }
+}
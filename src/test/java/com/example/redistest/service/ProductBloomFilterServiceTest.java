@@ -0,0 +1,126 @@
+package com.example.redistest.service;
+
+import com.example.redistest.config.ProductBloomFilterProperties;
+import com.example.redistest.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 블룸 필터 크기 계산, 비트 위치, 추가 실패 시 동작
+ */
+class ProductBloomFilterServiceTest {
+
+    private ProductBloomFilterService service;
+
+    @AfterEach
+    void shutdown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void sizesTheFilterForTargetFalsePositiveRate() {
+        // n = 1,000,000, p = 1% → m ≈ 9.59 bits/원소, k = 7
+        assertThat(ProductBloomFilterService.optimalBits(1_000_000, 0.01)).isEqualTo(9_585_059L);
+        assertThat(ProductBloomFilterService.optimalHashes(9_585_059L, 1_000_000)).isEqualTo(7);
+
+        assertThat(ProductBloomFilterService.optimalBits(1_000_000, 0.001)).isEqualTo(14_377_588L);
+        assertThat(ProductBloomFilterService.optimalHashes(14_377_588L, 1_000_000)).isEqualTo(10);
+
+        // 최소값
+        assertThat(ProductBloomFilterService.optimalBits(0, 0.5)).isEqualTo(64L);
+        assertThat(ProductBloomFilterService.optimalHashes(64, 1_000_000)).isEqualTo(1);
+    }
+
+    @Test
+    void offsetsAreStableAndInRange() {
+        service = newService(redisDown(), 1_000_000, 0.01);
+        long bits = ProductBloomFilterService.optimalBits(1_000_000, 0.01);
+
+        for (long id = 0; id < 10_000; id++) {
+            long[] offsets = service.offsets(id);
+            assertThat(offsets).hasSize(7);
+            assertThat(offsets).allSatisfy(offset -> assertThat(offset).isBetween(0L, bits - 1));
+            assertThat(service.offsets(id)).isEqualTo(offsets);
+        }
+        assertThat(service.offsets(1L)).isNotEqualTo(service.offsets(2L));
+        assertThat(service.offsets(Long.MAX_VALUE)).allSatisfy(offset -> assertThat(offset).isBetween(0L, bits - 1));
+    }
+
+    @Test
+    void offsetsKeepTheTargetFalsePositiveRate() {
+        int n = 10_000;
+        double target = 0.01;
+        service = newService(redisDown(), n, target);
+        int bits = (int) ProductBloomFilterService.optimalBits(n, target);
+
+        BitSet filter = new BitSet(bits);
+        for (long id = 1; id <= n; id++) {
+            for (long offset : service.offsets(id)) {
+                filter.set((int) offset);
+            }
+        }
+
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (long id = n + 1; id <= n + probes; id++) {
+            boolean all = true;
+            for (long offset : service.offsets(id)) {
+                all &= filter.get((int) offset);
+            }
+            if (all) {
+                falsePositives++;
+            }
+        }
+        // 연속된 id도 고르게 퍼져야 목표 오탐률 근처가 나온다
+        assertThat((double) falsePositives / probes).isLessThan(target * 2);
+    }
+
+    @Test
+    void failedAddKeepsTheIdPassing() {
+        // 조회 스크립트는 "없음"(모든 비트 0)을 반환하고 나머지 명령은 실패하는 Redis
+        StringRedisTemplate redis = mock(StringRedisTemplate.class, invocation -> {
+            Object[] args = invocation.getArguments();
+            if (args.length > 0 && args[0] instanceof RedisScript<?> script
+                    && script.getScriptAsString().contains("getbit")) {
+                return 0L;
+            }
+            throw new RedisConnectionFailureException("연결 끊김");
+        });
+        service = newService(redis, 1_000, 0.01);
+
+        assertThat(service.mightContain(42L)).isFalse();
+
+        service.add(List.of(42L));
+
+        assertThat(service.mightContain(42L)).isTrue();
+        assertThat(service.mightContain(43L)).isFalse();
+    }
+
+    private static StringRedisTemplate redisDown() {
+        return mock(StringRedisTemplate.class, invocation -> {
+            throw new RedisConnectionFailureException("연결 끊김");
+        });
+    }
+
+    private static ProductBloomFilterService newService(StringRedisTemplate redis, long expectedInsertions,
+                                                        double falsePositiveRate) {
+        ProductBloomFilterProperties properties = new ProductBloomFilterProperties();
+        properties.setExpectedInsertions(expectedInsertions);
+        properties.setFalsePositiveRate(falsePositiveRate);
+        return new ProductBloomFilterService(redis, mock(ProductRepository.class), mock(PlatformTransactionManager.class),
+                properties, new RedisMetrics(new SimpleMeterRegistry()));
+    }
+}
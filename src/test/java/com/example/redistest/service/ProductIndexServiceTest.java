@@ -0,0 +1,62 @@
+package com.example.redistest.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이름 n-gram 생성과 검색 가능 여부
+ */
+class ProductIndexServiceTest {
+
+    @Test
+    void gramsAreTwoAndThreeCharacterGramsOfTheNormalizedName() {
+        assertThat(ProductIndexService.grams("Air Pod"))
+                .containsExactly("ai", "ir", "rp", "po", "od", "air", "irp", "rpo", "pod");
+    }
+
+    @Test
+    void gramsSkipDuplicatesAndShortNames() {
+        assertThat(ProductIndexService.grams("aaaa")).containsExactly("aa", "aaa");
+        assertThat(ProductIndexService.grams("a")).isEmpty();
+        assertThat(ProductIndexService.grams(" ")).isEmpty();
+        assertThat(ProductIndexService.grams(null)).isEmpty();
+    }
+
+    @Test
+    void ngramsSplitByCodePoint() {
+        assertThat(ProductIndexService.ngrams("노트북", 2)).containsExactly("노트", "트북");
+        assertThat(ProductIndexService.ngrams("노트북", 3)).containsExactly("노트북");
+        assertThat(ProductIndexService.ngrams("노트북", 4)).isEmpty();
+        // 서로게이트 쌍(이모지)을 반으로 자르지 않는다
+        assertThat(ProductIndexService.ngrams("a🚀b", 2)).containsExactly("a🚀", "🚀b");
+    }
+
+    @Test
+    void everyQueryGramIsAGramOfAMatchingName() {
+        // 검색어가 이름에 포함되면 검색어의 n-gram은 모두 이름의 n-gram이다 (교집합에서 빠지지 않음)
+        String name = ProductIndexService.normalize("삼성 갤럭시 북4 프로");
+        for (String query : new String[]{"갤럭", "갤럭시", "갤럭시북", "시북4프"}) {
+            int n = Math.min(query.codePointCount(0, query.length()), 3);
+            assertThat(ProductIndexService.grams(name)).containsAll(ProductIndexService.ngrams(query, n));
+        }
+    }
+
+    @Test
+    void sortableMembersOrderLikeIds() {
+        // 같은 가격이면 Redis는 멤버 문자열 순으로 정렬한다
+        assertThat(ProductIndexService.sortableMember(9)).isLessThan(ProductIndexService.sortableMember(10));
+        assertThat(ProductIndexService.sortableMember(99_999)).isLessThan(ProductIndexService.sortableMember(100_000));
+        assertThat(ProductIndexService.sortableMember(Long.MAX_VALUE)).isEqualTo(String.valueOf(Long.MAX_VALUE));
+        assertThat(Long.valueOf(ProductIndexService.sortableMember(42))).isEqualTo(42L);
+    }
+
+    @Test
+    void singleCharacterQueriesAreNotSearchable() {
+        assertThat(ProductIndexService.isSearchable("북")).isFalse();
+        assertThat(ProductIndexService.isSearchable(" a ")).isFalse();
+        assertThat(ProductIndexService.isSearchable("🚀")).isFalse();
+        assertThat(ProductIndexService.isSearchable("노트")).isTrue();
+        assertThat(ProductIndexService.isSearchable("a b")).isTrue();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.redistest.service;
+
+import com.example.redistest.config.ProductCacheProperties;
+import com.example.redistest.entity.Product;
+import com.example.redistest.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 이름 검색: n-gram 후보를 이름으로 다시 확인하며 limit개를 채우는 반복
+ */
+class ProductServiceTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductCacheService productCacheService = mock(ProductCacheService.class);
+    private final ProductIndexService productIndexService = mock(ProductIndexService.class);
+    private final ProductService productService = new ProductService(productRepository, productCacheService,
+            new ProductCacheProperties(), mock(RequestCoalescer.class), productIndexService,
+            mock(ProductBloomFilterService.class), mock(EntityManager.class));
+
+    // 인덱스에 들어 있는 후보 (id → 상품)
+    private final TreeMap<Long, Product> indexed = new TreeMap<>();
+
+    @BeforeEach
+    void setUp() {
+        when(productIndexService.isReady()).thenReturn(true);
+        when(productIndexService.searchCandidates(anyString(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            int count = invocation.getArgument(2);
+            return indexed.tailMap(afterId, false).keySet().stream().limit(count).toList();
+        });
+        when(productCacheService.getAll(anyCollection())).thenAnswer(invocation -> new HashMap<Long, Product>());
+        when(productRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Product> found = new ArrayList<>();
+            ids.forEach(id -> {
+                if (indexed.containsKey(id)) {
+                    found.add(indexed.get(id));
+                }
+            });
+            return found;
+        });
+    }
+
+    @Test
+    void keepsFetchingUntilLimitMatchesAreFound() {
+        // n-gram은 모두 있지만 실제로는 "북프로"를 포함하지 않는 후보가 앞에 몰려 있는 경우
+        for (long id = 1; id <= 10; id++) {
+            indexed.put(id, product(id, "프로 북 " + id));
+        }
+        indexed.put(7L, product(7L, "갤럭시 북프로"));
+        indexed.put(9L, product(9L, "북프로 360"));
+
+        List<Product> results = productService.searchByName("북프로", 0, 2);
+
+        assertThat(results).extracting(Product::getId).containsExactly(7L, 9L);
+        // limit 2 → 4개씩: 1~4, 5~8, 9~10
+        verify(productIndexService).searchCandidates("북프로", 0, 4);
+        verify(productIndexService).searchCandidates("북프로", 4, 4);
+        verify(productIndexService).searchCandidates("북프로", 8, 4);
+    }
+
+    @Test
+    void stopsAtLimitAndResumesAfterTheCursor() {
+        for (long id = 1; id <= 20; id++) {
+            indexed.put(id, product(id, "노트북 " + id));
+        }
+
+        assertThat(productService.searchByName("노트북", 0, 3)).extracting(Product::getId).containsExactly(1L, 2L, 3L);
+        assertThat(productService.searchByName("노트북", 3, 3)).extracting(Product::getId).containsExactly(4L, 5L, 6L);
+    }
+
+    @Test
+    void skipsCandidatesMissingFromTheDatabase() {
+        indexed.put(1L, product(1L, "키보드"));
+        indexed.put(3L, product(3L, "기계식 키보드"));
+        // 인덱스에만 남아 있는 삭제된 상품
+        when(productIndexService.searchCandidates(anyString(), anyLong(), anyInt()))
+                .thenReturn(List.of(1L, 2L, 3L));
+
+        assertThat(productService.searchByName("키보드", 0, 5)).extracting(Product::getId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void givesUpAfterMaxRoundsOfNonMatchingCandidates() {
+        for (long id = 1; id <= 1_000; id++) {
+            indexed.put(id, product(id, "니터 모"));
+        }
+
+        assertThat(productService.searchByName("모니터", 0, 5)).isEmpty();
+        verify(productIndexService, times(5)).searchCandidates(eq("모니터"), anyLong(), eq(10));
+    }
+
+    @Test
+    void singleCharacterQueriesUseTheDatabase() {
+        when(productRepository.findByNameContaining("북")).thenReturn(List.of(product(5L, "북"), product(2L, "노트북")));
+
+        assertThat(productService.searchByName("북", 0, 10)).extracting(Product::getId).containsExactly(2L, 5L);
+        verify(productIndexService, never()).searchCandidates(anyString(), anyLong(), anyInt());
+    }
+
+    private static Product product(long id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setPrice(new BigDecimal("1000.00"));
+        return product;
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.redistest.util;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * HllSketch가 Redis와 같은 레지스터를 만드는지 확인
+ *
+ * 형식 검사와 기준값 비교는 항상 실행하고, Redis 비교는 -Dredis.host / -Dredis.port (기본 localhost:6379)의 실제 Redis가 있을 때만 실행한다.
+ * 기준값은 Redis hyperloglog.c의 MurmurHash64A, hllPatLen, HLL_DENSE_SET_REGISTER를 C 그대로 컴파일해 구한 값이다.
+ * (jedis-mock은 HyperLogLog를 자체 형식으로 저장하므로 dense 바이트를 PFMERGE 할 수 없다)
+ * 실행: ./gradlew test -Ptest.redis=redis-host:6379
+ */
+class HllSketchTest {
+
+    private static final int REGISTERS = 1 << 14;
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * 멤버, MurmurHash64A(seed 0xadc83b19), 레지스터 번호, 레지스터 값 (hyperloglog.c 기준값)
+     * 8바이트 블록과 나머지 바이트(0~7) 처리를 모두 지나도록 길이를 고른다.
+     */
+    private static final Object[][] REFERENCE = {
+            {"", 0xd8dfea6585bc9732L, 5938, 2},
+            {"a", 0x53d2470a9b43b1a7L, 12711, 2},
+            {"ab", 0x0eaed676437142cfL, 719, 1},
+            {"abc", 0x77ec90aeb374e502L, 9474, 1},
+            {"abcdefg", 0x22fe613bb08c9602L, 5634, 2},
+            {"abcdefgh", 0xf3a65df559914567L, 1383, 1},
+            {"abcdefghi", 0x834fba4d9152daf7L, 6903, 1},
+            {"product:1", 0xa95d73dc19b915d5L, 5589, 3},
+            {"user:0", 0x72acd4e5acf77455L, 13397, 1},
+            {"user:19999", 0x2d0bd62b2a4264afL, 9391, 1},
+            {"상품", 0xb247f410b5fb3296L, 12950, 3},
+            {"0123456789abcdef", 0x9f8565428eaa573dL, 5949, 1},
+    };
+
+    /**
+     * user:0 ~ user:19999를 넣은 dense 레지스터 영역(12288바이트)의 SHA-256 (hyperloglog.c 기준값)
+     */
+    private static final String REFERENCE_REGISTERS_SHA256 =
+            "cd6e6aaa62a27a03588866dce5dea2b56e8e710ed3a90716be29a3f36da8ff46";
+
+    private static RedisClient client;
+    private static StatefulRedisConnection<byte[], byte[]> connection;
+
+    @BeforeAll
+    static void connect() {
+        RedisURI uri = RedisURI.builder()
+                .withHost(System.getProperty("redis.host", "localhost"))
+                .withPort(Integer.getInteger("redis.port", 6379))
+                .withTimeout(Duration.ofSeconds(2))
+                .build();
+        client = RedisClient.create(uri);
+        try {
+            connection = client.connect(ByteArrayCodec.INSTANCE);
+        } catch (RedisConnectionException e) {
+            connection = null;
+        }
+    }
+
+    @AfterAll
+    static void close() {
+        if (connection != null) {
+            connection.close();
+        }
+        client.shutdown();
+    }
+
+    @Test
+    void denseHeaderMatchesRedisLayout() {
+        byte[] dense = new HllSketch().toRedisDense();
+
+        assertThat(dense).hasSize(HEADER_SIZE + REGISTERS * 6 / 8);
+        assertThat(Arrays.copyOf(dense, 4)).isEqualTo("HYLL".getBytes(StandardCharsets.US_ASCII));
+        assertThat(dense[4]).isZero();
+        // 카디널리티 캐시 무효 표시 (가장 높은 바이트의 최상위 비트)
+        assertThat(dense[15] & 0x80).isEqualTo(0x80);
+        for (int i = 0; i < REGISTERS; i++) {
+            assertThat(register(dense, i)).isZero();
+        }
+    }
+
+    @Test
+    void addSetsTheRegisterRedisWouldSet() {
+        byte[] element = "product:1".getBytes(StandardCharsets.UTF_8);
+        HllSketch sketch = new HllSketch();
+
+        assertThat(sketch.add(element)).isTrue();
+        assertThat(sketch.add(element)).isFalse();
+
+        // hyperloglog.c hllPatLen: 하위 14비트가 레지스터, 나머지 비트의 (끝자리 0 개수 + 1)이 값
+        long hash = HllSketch.murmurHash64A(element);
+        int index = (int) (hash & (REGISTERS - 1));
+        int expected = Long.numberOfTrailingZeros((hash >>> 14) | (1L << 50)) + 1;
+
+        byte[] dense = sketch.toRedisDense();
+        for (int i = 0; i < REGISTERS; i++) {
+            assertThat(register(dense, i)).as("register %d", i).isEqualTo(i == index ? expected : 0);
+        }
+    }
+
+    @Test
+    void hashAndRegisterMatchRedisReference() {
+        for (Object[] reference : REFERENCE) {
+            byte[] element = ((String) reference[0]).getBytes(StandardCharsets.UTF_8);
+            HllSketch sketch = new HllSketch();
+            sketch.add(element);
+
+            assertThat(HllSketch.murmurHash64A(element)).as("hash of '%s'", reference[0]).isEqualTo(reference[1]);
+            byte[] dense = sketch.toRedisDense();
+            assertThat(register(dense, (int) reference[2])).as("register of '%s'", reference[0]).isEqualTo(reference[3]);
+        }
+    }
+
+    @Test
+    void denseRegistersMatchRedisReference() throws NoSuchAlgorithmException {
+        HllSketch sketch = new HllSketch();
+        for (byte[] member : members(0, 20_000)) {
+            sketch.add(member);
+        }
+
+        byte[] dense = sketch.toRedisDense();
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(Arrays.copyOfRange(dense, HEADER_SIZE, dense.length));
+
+        assertThat(HexFormat.of().formatHex(digest)).isEqualTo(REFERENCE_REGISTERS_SHA256);
+    }
+
+    @Test
+    void mergeEqualsAddingBothSets() {
+        HllSketch left = new HllSketch();
+        HllSketch right = new HllSketch();
+        HllSketch both = new HllSketch();
+        for (byte[] member : members(0, 5_000)) {
+            left.add(member);
+            both.add(member);
+        }
+        for (byte[] member : members(3_000, 8_000)) {
+            right.add(member);
+            both.add(member);
+        }
+
+        left.merge(right);
+
+        assertThat(left.toRedisDense()).isEqualTo(both.toRedisDense());
+    }
+
+    @Test
+    void denseBytesMatchRedisPfadd() {
+        assumeTrue(connection != null, "Redis에 연결할 수 없어 건너뜀");
+        RedisCommands<byte[], byte[]> redis = connection.sync();
+        String prefix = "test:hll:" + UUID.randomUUID() + ":";
+        byte[] added = key(prefix + "pfadd");
+        byte[] sketchKey = key(prefix + "sketch");
+        byte[] mergedFromAdded = key(prefix + "merged:pfadd");
+        byte[] mergedFromSketch = key(prefix + "merged:sketch");
+        try {
+            List<byte[]> members = members(0, 20_000);
+            HllSketch sketch = new HllSketch();
+            for (byte[] member : members) {
+                sketch.add(member);
+            }
+            for (int i = 0; i < members.size(); i += 1_000) {
+                redis.pfadd(added, members.subList(i, i + 1_000).toArray(new byte[0][]));
+            }
+            redis.set(sketchKey, sketch.toRedisDense());
+
+            assertThat(redis.pfcount(sketchKey)).isEqualTo(redis.pfcount(added));
+
+            // PFMERGE 결과는 항상 dense이므로 레지스터 영역을 바이트 단위로 비교한다
+            redis.pfmerge(mergedFromAdded, added);
+            redis.pfmerge(mergedFromSketch, sketchKey);
+            byte[] expected = redis.get(mergedFromAdded);
+            byte[] actual = redis.get(mergedFromSketch);
+            assertThat(Arrays.copyOfRange(actual, HEADER_SIZE, actual.length))
+                    .isEqualTo(Arrays.copyOfRange(expected, HEADER_SIZE, expected.length));
+
+            // 스케치를 기존 HLL에 PFMERGE 해도 같은 멤버를 다시 PFADD 한 것처럼 바뀌지 않아야 한다
+            long before = redis.pfcount(added);
+            redis.pfmerge(added, sketchKey);
+            assertThat(redis.pfcount(added)).isEqualTo(before);
+        } finally {
+            redis.del(added, sketchKey, mergedFromAdded, mergedFromSketch);
+        }
+    }
+
+    /**
+     * hyperloglog.c HLL_DENSE_GET_REGISTER
+     */
+    private static int register(byte[] dense, int index) {
+        int bitOffset = index * 6;
+        int byteIndex = HEADER_SIZE + bitOffset / 8;
+        int shift = bitOffset & 7;
+        int low = dense[byteIndex] & 0xFF;
+        int high = byteIndex + 1 < dense.length ? dense[byteIndex + 1] & 0xFF : 0;
+        return ((low >>> shift) | (high << (8 - shift))) & 63;
+    }
+
+    private static List<byte[]> members(int from, int to) {
+        List<byte[]> members = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            members.add(("user:" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        return members;
+    }
+
+    private static byte[] key(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.redistest.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SCAN 커서 값 검증
+ */
+class NdjsonWriterTest {
+
+    @Test
+    void acceptsUnsignedLongCursors() {
+        assertThat(NdjsonWriter.isValidCursor("0")).isTrue();
+        assertThat(NdjsonWriter.isValidCursor("1792")).isTrue();
+        // Redis 커서는 부호 없는 64비트
+        assertThat(NdjsonWriter.isValidCursor("18446744073709551615")).isTrue();
+    }
+
+    @Test
+    void rejectsNonAsciiDigitsAndOverflow() {
+        assertThat(NdjsonWriter.isValidCursor("")).isFalse();
+        assertThat(NdjsonWriter.isValidCursor(null)).isFalse();
+        assertThat(NdjsonWriter.isValidCursor("-1")).isFalse();
+        assertThat(NdjsonWriter.isValidCursor("+1")).isFalse();
+        assertThat(NdjsonWriter.isValidCursor("12a")).isFalse();
+        // 전각 숫자, 아랍-인도 숫자 (Character.isDigit은 true)
+        assertThat(NdjsonWriter.isValidCursor("１２")).isFalse();
+        assertThat(NdjsonWriter.isValidCursor("٣")).isFalse();
+        assertThat(NdjsonWriter.isValidCursor("18446744073709551616")).isFalse();
+    }
+}